@@ -2,22 +2,21 @@
 // Backend API Configuration
 const API_BASE_URL = 'http://localhost:8080';
 
-document.addEventListener('DOMContentLoaded', function() {
-    const myBookings = new MyBookingsManager();
-});
-
 class MyBookingsManager {
     constructor() {
         this.bookings = [];
         this.filteredBookings = [];
         this.currentPage = 1;
         this.itemsPerPage = 10;
+        this.lastEventId = null;
+        this.streamController = null;
         this.init();
     }
 
     init() {
         this.setupEventListeners();
         this.loadBookings();
+        this.connectStream();
     }
 
     setupEventListeners() {
@@ -65,6 +64,97 @@ class MyBookingsManager {
         }
     }
 
+    // Live updates pushed by the server (GET /api/bookings/stream, Server-Sent Events) instead of polling.
+    // fetch() rather than EventSource, because the stream needs the Authorization header.
+    async connectStream() {
+        const authToken = localStorage.getItem('authToken');
+        if (!authToken || this.streamController) {
+            return;
+        }
+        this.streamController = new AbortController();
+        try {
+            const headers = { 'Authorization': `Bearer ${authToken}` };
+            if (this.lastEventId) {
+                // resume: the server replays whatever we missed while disconnected
+                headers['Last-Event-ID'] = this.lastEventId;
+            }
+            const response = await fetch(`${API_BASE_URL}/api/bookings/stream`, {
+                headers,
+                signal: this.streamController.signal
+            });
+            if (!response.ok || !response.body) {
+                throw new Error(`Booking stream failed with status ${response.status}`);
+            }
+
+            const reader = response.body.getReader();
+            const decoder = new TextDecoder();
+            let buffer = '';
+            while (true) {
+                const { value, done } = await reader.read();
+                if (done) {
+                    break;
+                }
+                buffer += decoder.decode(value, { stream: true });
+                let boundary;
+                while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+                    this.handleStreamEvent(buffer.slice(0, boundary));
+                    buffer = buffer.slice(boundary + 2);
+                }
+            }
+        } catch (error) {
+            if (error.name === 'AbortError') {
+                return;
+            }
+            console.warn('Booking stream interrupted:', error);
+        } finally {
+            this.streamController = null;
+        }
+        setTimeout(() => this.connectStream(), 3000);
+    }
+
+    handleStreamEvent(rawEvent) {
+        let eventName = 'message';
+        const data = [];
+        for (const line of rawEvent.split('\n')) {
+            if (line.startsWith(':')) {
+                continue; // heartbeat
+            }
+            const separator = line.indexOf(':');
+            const field = separator < 0 ? line : line.slice(0, separator);
+            const value = separator < 0 ? '' : line.slice(separator + 1).replace(/^ /, '');
+            if (field === 'id') {
+                this.lastEventId = value;
+            } else if (field === 'event') {
+                eventName = value;
+            } else if (field === 'data') {
+                data.push(value);
+            }
+        }
+
+        if (eventName === 'reset') {
+            // too much was missed to replay; fetch the list once
+            this.loadBookings();
+        } else if (eventName === 'booking' && data.length > 0) {
+            this.applyBookingUpdate(JSON.parse(data.join('\n')));
+        }
+    }
+
+    applyBookingUpdate(booking) {
+        const index = this.bookings.findIndex(existing => existing.id === booking.id);
+        if (index >= 0) {
+            this.bookings[index] = booking;
+        } else {
+            this.bookings.unshift(booking);
+        }
+
+        // re-filter but stay on the current page
+        const page = this.currentPage;
+        this.applyFilters();
+        const totalPages = Math.max(1, Math.ceil(this.filteredBookings.length / this.itemsPerPage));
+        this.currentPage = Math.min(page, totalPages);
+        this.displayBookings();
+    }
+
     showLoading() {
         document.getElementById('loadingState').classList.remove('d-none');
         document.getElementById('emptyState').classList.add('d-none');
@@ -346,6 +436,10 @@ class MyBookingsManager {
             if (response.ok) {
                 this.showSuccess('Booking cancelled successfully');
                 this.loadBookings(); // Reload bookings
+            } else if (response.status === 409) {
+                // The worker changed this booking at the same moment; show its current state instead
+                this.showError('This booking was just updated. Please check its new status.');
+                this.loadBookings();
             } else {
                 throw new Error('Failed to cancel booking');
             }
@@ -422,7 +516,11 @@ class MyBookingsManager {
 
 // Global functions for onclick handlers
 window.refreshBookings = function() {
-    window.myBookingsManager = new MyBookingsManager();
+    if (window.myBookingsManager) {
+        window.myBookingsManager.loadBookings();
+    } else {
+        window.myBookingsManager = new MyBookingsManager();
+    }
 };
 
 window.exportBookings = function() {
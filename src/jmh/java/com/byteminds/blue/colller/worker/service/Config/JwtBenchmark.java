@@ -0,0 +1,78 @@
+package com.byteminds.blue.colller.worker.service.Config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and per-request token validation, with and without the verified-token cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtBenchmark
+{
+    private JwtProvider uncachedProvider;
+    private JwtTokenValidator uncachedValidator;
+    private JwtTokenValidator cachedValidator;
+    private Authentication authentication;
+    private String bearerToken;
+
+    @Setup
+    public void setUp()
+    {
+        uncachedProvider = new JwtProvider(0);
+        uncachedValidator = new JwtTokenValidator(uncachedProvider);
+        cachedValidator = new JwtTokenValidator(new JwtProvider(10000));
+        authentication = new UsernamePasswordAuthenticationToken("worker@example.com", null,
+                AuthorityUtils.createAuthorityList("WORKER"));
+        bearerToken = "Bearer " + uncachedProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken()
+    {
+        return uncachedProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public Object validateToken() throws Exception
+    {
+        return validate(uncachedValidator);
+    }
+
+    @Benchmark
+    public Object validateCachedToken() throws Exception
+    {
+        return validate(cachedValidator);
+    }
+
+    private Object validate(JwtTokenValidator validator) throws Exception
+    {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings/my-bookings");
+        request.addHeader(JwtConstant.JWT_HEADER, bearerToken);
+        validator.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
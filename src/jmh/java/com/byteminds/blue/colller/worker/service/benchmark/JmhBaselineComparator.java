@@ -0,0 +1,98 @@
+package com.byteminds.blue.colller.worker.service.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with the committed baseline and fails when a benchmark regressed.
+ *
+ * A benchmark regresses when its score is worse than the baseline by more than the threshold
+ * (a fraction, e.g. 0.10): higher for time-per-operation modes, lower for throughput.
+ * Benchmarks missing from the baseline are reported as new and never fail the run; a missing or
+ * empty baseline fails it, since nothing would be compared at all.
+ *
+ * Usage: {@code JmhBaselineComparator <result.json> <baseline.json> <threshold> <update-baseline>}.
+ * With update-baseline {@code true} the result replaces the baseline instead of being compared.
+ */
+public final class JmhBaselineComparator {
+
+    private JmhBaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("usage: JmhBaselineComparator <result.json> <baseline.json> <threshold> <update-baseline>");
+            System.exit(2);
+        }
+        Path result = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+
+        if (Boolean.parseBoolean(args[3])) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("JMH baseline updated from " + result);
+            return;
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> current = index(mapper.readTree(result.toFile()));
+        Map<String, JsonNode> reference = Files.exists(baseline)
+                ? index(mapper.readTree(baseline.toFile()))
+                : new LinkedHashMap<>();
+        if (reference.isEmpty()) {
+            System.err.println("JMH baseline " + baseline + " is missing or empty: record one with -Djmh.update-baseline=true");
+            System.exit(1);
+        }
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode run = entry.getValue();
+            double score = run.path("primaryMetric").path("score").asDouble();
+            String unit = run.path("primaryMetric").path("scoreUnit").asText();
+            JsonNode base = reference.get(entry.getKey());
+            if (base == null) {
+                System.out.printf("%-90s %14s %11.3f %s %9s%n", entry.getKey(), "-", score, unit, "NEW");
+                continue;
+            }
+            double baseScore = base.path("primaryMetric").path("score").asDouble();
+            double change = (score - baseScore) / baseScore;
+            // for throughput a lower score is worse, for every time-based mode a higher one is
+            double worsening = "thrpt".equals(run.path("mode").asText()) ? -change : change;
+            boolean regressed = worsening > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %11.3f %s %11.3f %s %+8.1f%%%s%n", entry.getKey(), baseScore, unit, score, unit,
+                    change * 100, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold * 100);
+            System.exit(1);
+        }
+        System.out.printf("No benchmark regressed by more than %.0f%%%n", threshold * 100);
+    }
+
+    // benchmark name plus its @Param values, e.g. "...JsonSerializationBenchmark.works{size=20}"
+    private static Map<String, JsonNode> index(JsonNode runs) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            if (params.isObject() && params.size() > 0) {
+                key.append(params.toString());
+            }
+            byKey.put(key.toString(), run);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,69 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.models.Booking;
+import com.byteminds.blue.colller.worker.service.models.Role;
+import com.byteminds.blue.colller.worker.service.models.Users;
+import com.byteminds.blue.colller.worker.service.models.Work;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entities shaped like production rows, shared by the service-layer benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Users user(long id, String name, Role role) {
+        Users user = new Users();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(name.toLowerCase().replace(' ', '.') + "@example.com");
+        user.setRole(role);
+        user.setCity("Pune");
+        return user;
+    }
+
+    static List<Work> works(int count, Users worker) {
+        List<Work> works = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Work work = new Work();
+            work.setId((long) i + 1);
+            work.setTitle("Fix leaking kitchen tap " + i);
+            work.setDescription("Replace washers, reseal the joint and check the pipes under the sink for leaks.");
+            work.setCategory("Plumbing");
+            work.setCharges(450.0 + i);
+            work.setEstimatedTimeHours(1.5);
+            work.setLatitude(18.52 + i * 0.001);
+            work.setLongitude(73.85 + i * 0.001);
+            work.setWorker(worker);
+            works.add(work);
+        }
+        return works;
+    }
+
+    static List<Booking> bookings(int count) {
+        Users customer = user(1, "Asha Customer", Role.CUSTOMER);
+        Users worker = user(2, "Ravi Worker", Role.WORKER);
+        List<Work> works = works(count, worker);
+        List<Booking> bookings = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 9, 0);
+        for (int i = 0; i < count; i++) {
+            Work work = works.get(i);
+            Booking booking = new Booking(customer, worker, work, "Kitchen tap drips constantly",
+                    start.plusHours(2L * i), "Flat 12, Shivaji Nagar, Pune");
+            booking.setId((long) i + 1);
+            booking.setCustomerPhone("+91 98765 43210");
+            booking.setSpecialInstructions("Call before arriving");
+            booking.setEstimatedDurationHours(work.getEstimatedTimeHours());
+            booking.setTotalAmount(work.getCharges());
+            booking.setCreatedAt(start.minusDays(1));
+            booking.setUpdatedAt(start.minusDays(1));
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,50 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Response.BookingResponse;
+import com.byteminds.blue.colller.worker.service.models.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a page of bookings to responses (the repositories are not touched).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BookingServiceBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private BookingService bookingService;
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        bookingService = new BookingService();
+        bookings = BenchmarkData.bookings(PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingResponse> convertToResponse() {
+        List<BookingResponse> responses = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            responses.add(bookingService.convertToResponse(booking, "Asha Customer"));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,68 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Response.BookingResponse;
+import com.byteminds.blue.colller.worker.service.models.Booking;
+import com.byteminds.blue.colller.worker.service.models.Role;
+import com.byteminds.blue.colller.worker.service.models.Work;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the two list payloads the API returns most, configured like Spring Boot's ObjectMapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<BookingResponse> bookingResponses;
+    private List<Work> works;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+        BookingService bookingService = new BookingService();
+        bookingResponses = new ArrayList<>(size);
+        for (Booking booking : BenchmarkData.bookings(size)) {
+            bookingResponses.add(bookingService.convertToResponse(booking, "Asha Customer"));
+        }
+        works = BenchmarkData.works(size, BenchmarkData.user(2, "Ravi Worker", Role.WORKER));
+    }
+
+    @Benchmark
+    public byte[] bookingResponses() throws JsonProcessingException {
+        return writer.writeValueAsBytes(bookingResponses);
+    }
+
+    @Benchmark
+    public byte[] works() throws JsonProcessingException {
+        return writer.writeValueAsBytes(works);
+    }
+}
@@ -0,0 +1,74 @@
+package com.byteminds.blue.colller.worker.service.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per endpoint for one concurrency level.
+ *
+ * Latencies are recorded in microseconds into auto-resizing HdrHistograms with 3
+ * significant digits, so percentiles stay exact to 0.1% from 1 µs up to minutes.
+ * Failed calls are counted separately and kept out of the histograms, otherwise a
+ * fast 400 would make an endpoint look quicker than it is.
+ */
+final class EndpointStats {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+
+    void record(String endpoint, long startNanos, boolean ok) {
+        long micros = Math.max(1, (System.nanoTime() - startNanos) / 1_000);
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        if (ok) {
+            stats.latency.recordValue(micros);
+        } else {
+            stats.errors.increment();
+        }
+    }
+
+    // drop everything recorded during warm-up
+    void reset() {
+        endpoints.clear();
+    }
+
+    long completed(String endpoint) {
+        Endpoint stats = endpoints.get(endpoint);
+        return stats == null ? 0 : stats.latency.getTotalCount();
+    }
+
+    String report(int concurrency, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%n== %d concurrent users, %.1f s ==%n", concurrency, seconds));
+        out.append(String.format(Locale.ROOT, "%-34s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        long requests = 0;
+        long errors = 0;
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Histogram latency = entry.getValue().latency.copy();
+            long failed = entry.getValue().errors.sum();
+            long count = latency.getTotalCount();
+            requests += count;
+            errors += failed;
+            out.append(String.format(Locale.ROOT, "%-34s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), count, failed, count / seconds,
+                    millis(latency, 50), millis(latency, 99), millis(latency, 99.9), latency.getMaxValue() / 1000.0));
+        }
+        out.append(String.format(Locale.ROOT, "%-34s %9d %7d %9.1f%n", "Total", requests, errors, requests / seconds));
+        return out.toString();
+    }
+
+    private static double millis(Histogram latency, double percentile) {
+        return latency.getTotalCount() == 0 ? 0 : latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static final class Endpoint {
+        final Histogram latency = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+    }
+}
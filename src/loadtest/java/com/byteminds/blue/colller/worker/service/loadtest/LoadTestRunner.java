@@ -0,0 +1,102 @@
+package com.byteminds.blue.colller.worker.service.loadtest;
+
+import com.byteminds.blue.colller.worker.service.BlueColllerWorkerServiceApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load test: boots the application on an embedded H2 database in MySQL mode
+ * ({@code loadtest} profile), seeds it, then drives the {@link Workload} over real HTTP at
+ * each configured concurrency level and prints per-endpoint latency percentiles.
+ *
+ * Run with {@code mvn -Ploadtest verify}; see LOAD_TESTING.md for the knobs.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BlueColllerWorkerServiceApplication.class)
+                .profiles("loadtest")
+                .run(args)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestSeeder.SeedData data = new LoadTestSeeder(context).seed(settings);
+            System.out.printf("Seeded %d customers, %d workers, %d works; %s%n",
+                    data.customerEmails.size(), data.workerEmails.size(), data.works, settings);
+
+            ObjectMapper mapper = context.getBean(ObjectMapper.class);
+            StringBuilder report = new StringBuilder("Load test: " + settings + System.lineSeparator());
+            try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .executor(httpExecutor)
+                        .build();
+                Map<String, String> workerTokens = Workload.newTokenCache();
+                for (int concurrency : settings.concurrencyLevels) {
+                    EndpointStats stats = new EndpointStats();
+                    Workload workload = new Workload(http, mapper, "http://localhost:" + port, data, stats, workerTokens);
+                    String level = runLevel(workload, stats, concurrency, settings);
+                    System.out.print(level);
+                    report.append(level);
+                }
+            }
+            write(settings, report.toString());
+        }
+    }
+
+    private static String runLevel(Workload workload, EndpointStats stats, int concurrency,
+                                   LoadTestSettings settings) throws InterruptedException {
+        Level level = new Level();
+        String result;
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < concurrency; user++) {
+                int id = user;
+                users.submit(() -> workload.runUser(id, level::isRunning));
+            }
+            Thread.sleep(settings.warmup.toMillis());
+            stats.reset();
+            long start = System.nanoTime();
+            Thread.sleep(settings.duration.toMillis());
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            // snapshot before stopping, so requests still in flight don't stretch the window
+            result = stats.report(concurrency, elapsed)
+                    + String.format("Bookings completed: %.1f/s%n",
+                    stats.completed(Workload.COMPLETE) / (elapsed.toNanos() / 1e9));
+            level.stop();
+        }
+        return result;
+    }
+
+    private static void write(LoadTestSettings settings, String report) throws IOException {
+        if (settings.report.getParent() != null) {
+            Files.createDirectories(settings.report.getParent());
+        }
+        Files.writeString(settings.report, report);
+        System.out.println("Report written to " + settings.report.toAbsolutePath());
+    }
+
+    private static final class Level {
+        private volatile boolean running = true;
+
+        boolean isRunning() {
+            return running;
+        }
+
+        void stop() {
+            running = false;
+        }
+    }
+}
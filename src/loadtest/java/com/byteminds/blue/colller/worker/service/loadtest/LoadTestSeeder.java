@@ -0,0 +1,141 @@
+package com.byteminds.blue.colller.worker.service.loadtest;
+
+import com.byteminds.blue.colller.worker.service.Repository.UsersRepository;
+import com.byteminds.blue.colller.worker.service.Repository.WorkRepository;
+import com.byteminds.blue.colller.worker.service.models.Role;
+import com.byteminds.blue.colller.worker.service.models.Users;
+import com.byteminds.blue.colller.worker.service.models.Work;
+import com.byteminds.blue.colller.worker.service.service.WorkGeoIndex;
+import com.byteminds.blue.colller.worker.service.service.WorkSearchIndex;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Fills the embedded database with customers, workers and their work posts.
+ *
+ * Everyone shares one password, hashed once with the application's encoder, so seeding
+ * does not spend minutes in BCrypt while sign-in still pays the real cost per request.
+ * Works are spread over ~40 km around Pune with a fixed seed, so runs are comparable.
+ */
+final class LoadTestSeeder {
+
+    static final String PASSWORD = "loadtest-password";
+
+    static final String[] SEARCH_TERMS = {
+            "plumber", "leaking tap", "electrician", "wiring", "painting", "carpenter",
+            "door repair", "cleaning", "ac service", "pipe"
+    };
+
+    private static final double CENTER_LAT = 18.5204;
+    private static final double CENTER_LON = 73.8567;
+    private static final double SPREAD_DEGREES = 0.2;
+
+    private static final String[][] TRADES = {
+            {"Plumbing", "Fix leaking tap", "Replace a dripping kitchen or bathroom tap and washers"},
+            {"Plumbing", "Unclog drain pipe", "Clear blocked sink, shower and floor drain pipes"},
+            {"Electrical", "Electrician for wiring", "House wiring repair, switchboards and fuse replacement"},
+            {"Electrical", "Fan and light installation", "Install ceiling fans, tube lights and wall fittings"},
+            {"Painting", "Interior wall painting", "Painting of rooms and walls with putty and primer"},
+            {"Carpentry", "Carpenter for door repair", "Fix hinges, locks and sagging wooden doors"},
+            {"Carpentry", "Furniture assembly", "Assemble beds, wardrobes and modular furniture"},
+            {"Cleaning", "Deep home cleaning", "Kitchen, bathroom and floor deep cleaning"},
+            {"Appliance", "AC service and gas refill", "Split and window AC service, cleaning and gas top-up"},
+    };
+
+    private final UsersRepository usersRepository;
+    private final WorkRepository workRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final WorkSearchIndex workSearchIndex;
+    private final WorkGeoIndex workGeoIndex;
+
+    LoadTestSeeder(ApplicationContext context) {
+        this.usersRepository = context.getBean(UsersRepository.class);
+        this.workRepository = context.getBean(WorkRepository.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+        this.workSearchIndex = context.getBean(WorkSearchIndex.class);
+        this.workGeoIndex = context.getBean(WorkGeoIndex.class);
+    }
+
+    SeedData seed(LoadTestSettings settings) {
+        Random random = new Random(42);
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Users> customers = new ArrayList<>();
+        for (int i = 0; i < settings.customers; i++) {
+            customers.add(user("customer" + i + "@loadtest.local", "Customer " + i, Role.CUSTOMER, passwordHash, now));
+        }
+        List<Users> workers = new ArrayList<>();
+        for (int i = 0; i < settings.workers; i++) {
+            workers.add(user("worker" + i + "@loadtest.local", "Worker " + i, Role.WORKER, passwordHash, now));
+        }
+        customers = usersRepository.saveAll(customers);
+        workers = usersRepository.saveAll(workers);
+
+        List<Work> works = new ArrayList<>();
+        for (Users worker : workers) {
+            for (int i = 0; i < settings.worksPerWorker; i++) {
+                String[] trade = TRADES[random.nextInt(TRADES.length)];
+                Work work = new Work();
+                work.setCategory(trade[0]);
+                work.setTitle(trade[1]);
+                work.setDescription(trade[2]);
+                work.setCharges(200.0 + random.nextInt(40) * 50);
+                work.setEstimatedTimeHours(random.nextBoolean() ? 1.0 : 1.5);
+                work.setLatitude(randomLatitude(random));
+                work.setLongitude(randomLongitude(random));
+                work.setWorker(worker);
+                works.add(work);
+            }
+        }
+        workRepository.saveAll(works);
+
+        // the in-memory indexes were built from the empty database at startup
+        workSearchIndex.rebuild();
+        workGeoIndex.rebuild();
+
+        return new SeedData(
+                customers.stream().map(Users::getEmail).toList(),
+                workers.stream().collect(Collectors.toMap(Users::getId, Users::getEmail)),
+                works.size());
+    }
+
+    private static Users user(String email, String name, Role role, String passwordHash, LocalDateTime now) {
+        Users user = new Users();
+        user.setEmail(email);
+        user.setName(name);
+        user.setRole(role);
+        user.setPasswordHash(passwordHash);
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        return user;
+    }
+
+    static double randomLatitude(Random random) {
+        return CENTER_LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+    }
+
+    static double randomLongitude(Random random) {
+        return CENTER_LON + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+    }
+
+    static final class SeedData {
+        final List<String> customerEmails;
+        // worker id -> email, so the worker of a booked work can sign in to accept it
+        final Map<Long, String> workerEmails;
+        final int works;
+
+        SeedData(List<String> customerEmails, Map<Long, String> workerEmails, int works) {
+            this.customerEmails = customerEmails;
+            this.workerEmails = workerEmails;
+            this.works = works;
+        }
+    }
+}
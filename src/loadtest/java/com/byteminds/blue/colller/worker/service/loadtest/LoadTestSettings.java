@@ -0,0 +1,67 @@
+package com.byteminds.blue.colller.worker.service.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load-test knobs, read from {@code -Dloadtest.*} system properties (the loadtest Maven
+ * profile passes them through). Concurrency is a comma-separated list of levels that run
+ * one after another, each with its own warm-up, so a single run shows where p99 bends.
+ */
+final class LoadTestSettings {
+
+    final List<Integer> concurrencyLevels;
+    final Duration warmup;
+    final Duration duration;
+    final int customers;
+    final int workers;
+    final int worksPerWorker;
+    final Path report;
+
+    private LoadTestSettings(List<Integer> concurrencyLevels, Duration warmup, Duration duration,
+                             int customers, int workers, int worksPerWorker, Path report) {
+        this.concurrencyLevels = concurrencyLevels;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.customers = customers;
+        this.workers = workers;
+        this.worksPerWorker = worksPerWorker;
+        this.report = report;
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        List<Integer> levels = Arrays.stream(System.getProperty("loadtest.concurrency", "16,64,256").split(","))
+                .map(String::trim)
+                .filter(level -> !level.isEmpty())
+                .map(Integer::valueOf)
+                .toList();
+        if (levels.isEmpty() || levels.stream().anyMatch(level -> level <= 0)) {
+            throw new IllegalArgumentException("loadtest.concurrency must list positive integers");
+        }
+        return new LoadTestSettings(
+                levels,
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 15)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                positive("loadtest.customers", 500),
+                positive("loadtest.workers", 100),
+                positive("loadtest.works-per-worker", 5),
+                Path.of(System.getProperty("loadtest.report", "target/loadtest-report.txt")));
+    }
+
+    private static int positive(String name, int defaultValue) {
+        int value = Integer.getInteger(name, defaultValue);
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "concurrency=" + concurrencyLevels + ", warmup=" + warmup.toSeconds() + "s, duration="
+                + duration.toSeconds() + "s, customers=" + customers + ", workers=" + workers
+                + ", works/worker=" + worksPerWorker;
+    }
+}
@@ -0,0 +1,214 @@
+package com.byteminds.blue.colller.worker.service.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The mixed workload one virtual user runs in a closed loop: sign in, then repeatedly
+ * pick an action by weight until the level ends.
+ *
+ * <pre>
+ *   5%  sign in again (BCrypt)          15%  nearby works
+ *  40%  full-text work search           10%  free slots of a found work
+ *  10%  first page of own bookings      20%  book a found work, then its worker
+ *                                            accepts, starts and completes it
+ * </pre>
+ *
+ * Every booking gets its own two-hour slot from a shared counter, so schedule conflicts
+ * never turn a measured request into an error.
+ */
+final class Workload {
+
+    static final String SIGN_IN = "POST /auth/signIn";
+    static final String SEARCH = "GET /api/works/search";
+    static final String NEARBY = "GET /api/works/nearby";
+    static final String SLOTS = "GET /api/works/{id}/slots";
+    static final String MY_BOOKINGS = "GET /api/bookings/my-bookings/page";
+    static final String CREATE_BOOKING = "POST /api/bookings";
+    static final String ACCEPT = "PUT /api/bookings/{id}/accept";
+    static final String START = "PUT /api/bookings/{id}/start";
+    static final String COMPLETE = "PUT /api/bookings/{id}/complete";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.now().plusDays(1).withMinute(0).withSecond(0).withNano(0);
+    private static final AtomicLong NEXT_SLOT = new AtomicLong();
+
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final String baseUrl;
+    private final LoadTestSeeder.SeedData data;
+    private final EndpointStats stats;
+    // worker email -> JWT; workers sign in once and then only act on bookings
+    private final Map<String, String> workerTokens;
+
+    Workload(HttpClient http, ObjectMapper mapper, String baseUrl, LoadTestSeeder.SeedData data,
+             EndpointStats stats, Map<String, String> workerTokens) {
+        this.http = http;
+        this.mapper = mapper;
+        this.baseUrl = baseUrl;
+        this.data = data;
+        this.stats = stats;
+        this.workerTokens = workerTokens;
+    }
+
+    static Map<String, String> newTokenCache() {
+        return new ConcurrentHashMap<>();
+    }
+
+    void runUser(int user, BooleanSupplier running) {
+        Random random = new Random(user);
+        String email = data.customerEmails.get(user % data.customerEmails.size());
+        String jwt = signIn(email);
+        List<JsonNode> found = new ArrayList<>();
+        while (running.getAsBoolean()) {
+            if (jwt == null) {
+                jwt = signIn(email);
+                continue;
+            }
+            int action = random.nextInt(100);
+            if (action < 5) {
+                jwt = signIn(email);
+            } else if (action < 45 || found.isEmpty()) {
+                search(jwt, random, found);
+            } else if (action < 60) {
+                nearby(jwt, random);
+            } else if (action < 70) {
+                slots(jwt, found.get(random.nextInt(found.size())));
+            } else if (action < 80) {
+                get(MY_BOOKINGS, "/api/bookings/my-bookings/page?size=20", jwt);
+            } else {
+                bookAndComplete(jwt, found.get(random.nextInt(found.size())));
+            }
+        }
+    }
+
+    private String signIn(String email) {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("email", email);
+        body.put("password", LoadTestSeeder.PASSWORD);
+        JsonNode response = send(SIGN_IN, request("/auth/signIn", null).POST(json(body)));
+        return response == null ? null : response.path("jwt").asText(null);
+    }
+
+    private void search(String jwt, Random random, List<JsonNode> found) {
+        String term = LoadTestSeeder.SEARCH_TERMS[random.nextInt(LoadTestSeeder.SEARCH_TERMS.length)];
+        String path = "/api/works/search?q=" + URLEncoder.encode(term, StandardCharsets.UTF_8)
+                + "&lat=" + LoadTestSeeder.randomLatitude(random)
+                + "&lon=" + LoadTestSeeder.randomLongitude(random) + "&radiusKm=15";
+        JsonNode page = get(SEARCH, path, jwt);
+        if (page != null && page.path("content").size() > 0) {
+            found.clear();
+            page.path("content").forEach(found::add);
+        }
+    }
+
+    private void nearby(String jwt, Random random) {
+        get(NEARBY, "/api/works/nearby?lat=" + LoadTestSeeder.randomLatitude(random)
+                + "&lon=" + LoadTestSeeder.randomLongitude(random) + "&radiusKm=5", jwt);
+    }
+
+    private void slots(String jwt, JsonNode work) {
+        LocalDateTime from = FIRST_SLOT;
+        get(SLOTS, "/api/works/" + work.path("id").asLong() + "/slots?from=" + from + "&to=" + from.plusDays(7), jwt);
+    }
+
+    private void bookAndComplete(String jwt, JsonNode work) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("workId", work.path("id").asLong());
+        body.put("workerId", work.path("workerId").asLong());
+        body.put("description", "Load test booking");
+        body.put("scheduledDate", FIRST_SLOT.plusHours(2 * NEXT_SLOT.getAndIncrement()));
+        body.put("customerAddress", "Shivajinagar, Pune");
+        JsonNode booking = send(CREATE_BOOKING, request("/api/bookings", jwt).POST(json(body)));
+        if (booking == null) {
+            return;
+        }
+
+        String workerJwt = workerToken(work.path("workerId").asLong());
+        if (workerJwt == null) {
+            return;
+        }
+        String bookingPath = "/api/bookings/" + booking.path("id").asLong();
+        if (put(ACCEPT, bookingPath + "/accept", workerJwt) != null
+                && put(START, bookingPath + "/start", workerJwt) != null) {
+            put(COMPLETE, bookingPath + "/complete", workerJwt);
+        }
+    }
+
+    private String workerToken(long workerId) {
+        String email = data.workerEmails.get(workerId);
+        String token = workerTokens.get(email);
+        if (token == null) {
+            // two users racing here both sign in once; the cache keeps whichever lands last
+            token = signIn(email);
+            if (token != null) {
+                workerTokens.put(email, token);
+            }
+        }
+        return token;
+    }
+
+    private JsonNode get(String endpoint, String path, String jwt) {
+        return send(endpoint, request(path, jwt).GET());
+    }
+
+    private JsonNode put(String endpoint, String path, String jwt) {
+        return send(endpoint, request(path, jwt).PUT(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private HttpRequest.Builder request(String path, String jwt) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+        if (jwt != null) {
+            builder.header("Authorization", "Bearer " + jwt);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Timed call; returns the parsed body, or null when the call failed
+    private JsonNode send(String endpoint, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            boolean ok = response.statusCode() < 400;
+            stats.record(endpoint, start, ok);
+            if (!ok) {
+                return null;
+            }
+            return response.body().isEmpty() ? mapper.createObjectNode() : mapper.readTree(response.body());
+        } catch (IOException e) {
+            stats.record(endpoint, start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.byteminds.blue.colller.worker.service.Config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks the BCrypt cost factor for this machine: the highest cost whose hash still takes
+ * no longer than the target, never below {@link #MIN_COST}.
+ *
+ * Each cost step doubles the work, so the calibration times one cost and only measures
+ * the next one if doubling would still fit the target. Existing hashes keep their own
+ * cost and verify at it, so a different result after a hardware change is harmless.
+ */
+public final class BcryptCostCalibrator
+{
+    private static final Logger log = LoggerFactory.getLogger(BcryptCostCalibrator.class);
+
+    // OWASP's floor for BCrypt, and the cost BCryptPasswordEncoder uses by default
+    public static final int MIN_COST = 10;
+    // Hashes beyond this take seconds on any current CPU
+    public static final int MAX_COST = 16;
+
+    private static final int SAMPLES = 3;
+    private static final String PROBE = "bcrypt-calibration-probe";
+
+    private BcryptCostCalibrator()
+    {
+    }
+
+    public static int calibrate(Duration target)
+    {
+        int cost = MIN_COST;
+        Duration time = measure(cost);
+        while (cost < MAX_COST && time.multipliedBy(2).compareTo(target) <= 0)
+        {
+            cost++;
+            time = measure(cost);
+        }
+        if (time.compareTo(target) > 0 && cost > MIN_COST)
+        {
+            // the doubling estimate was optimistic; step back to the last cost that fit
+            cost--;
+            time = time.dividedBy(2);
+        }
+        log.info("BCrypt cost {} (~{} ms per hash, target {} ms)", cost, time.toMillis(), target.toMillis());
+        return cost;
+    }
+
+    // Fastest of a few runs after a warm-up, so a GC pause or JIT compile doesn't skew the choice
+    private static Duration measure(int cost)
+    {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        encoder.encode(PROBE);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            long start = System.nanoTime();
+            encoder.encode(PROBE);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return Duration.ofNanos(best);
+    }
+}
@@ -0,0 +1,81 @@
+package com.byteminds.blue.colller.worker.service.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Dedicated, bounded executors for background work, so a burst of one kind of
+ * task can't take threads or memory away from request handling.
+ *
+ * With {@code spring.threads.virtual.enabled=true} the I/O-bound pools run virtual threads;
+ * pool size and queue still bound how much work is in flight.
+ */
+@Configuration
+public class ExecutorConfig
+{
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean
+    ThreadPoolTaskExecutor imageVariantExecutor(@Value("${app.images.variants.threads:2}") int threads,
+                                                @Value("${app.images.variants.queue-capacity:200}") int queueCapacity)
+    {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-variant-");
+        if (virtualThreads)
+        {
+            executor.setThreadFactory(virtualThreadFactory("image-variant-"));
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    // Sends queued booking SSE events; a task per connection with pending events, so the queue
+    // only has to hold one entry per open stream
+    @Bean
+    ThreadPoolTaskExecutor bookingStreamExecutor(@Value("${app.bookings.stream.sender-threads:4}") int threads,
+                                                 @Value("${app.bookings.stream.sender-queue-capacity:10000}") int queueCapacity)
+    {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("booking-stream-");
+        if (virtualThreads)
+        {
+            executor.setThreadFactory(virtualThreadFactory("booking-stream-"));
+        }
+        return executor;
+    }
+
+    // BCrypt is pure CPU, so this pool stays on platform threads even in virtual-thread mode:
+    // its size is what caps the cores a login storm can take from booking traffic.
+    // 0 threads means half the available processors.
+    @Bean
+    ThreadPoolTaskExecutor passwordHashExecutor(@Value("${app.security.password-hash.threads:0}") int threads,
+                                                @Value("${app.security.password-hash.queue-capacity:32}") int queueCapacity)
+    {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    private static ThreadFactory virtualThreadFactory(String prefix)
+    {
+        return Thread.ofVirtual().name(prefix, 1).factory();
+    }
+}
@@ -1,8 +1,10 @@
 package com.byteminds.blue.colller.worker.service.Config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
@@ -15,6 +17,16 @@ public class JwtProvider
 {
     private SecretKey key = Keys.hmacShaKeyFor(JwtConstant.SECRET_KEY.getBytes());
 
+    // JwtParser is immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+    private final VerifiedTokenCache verifiedTokens;
+
+    public JwtProvider(@Value("${app.jwt.verified-cache.max-size:10000}") int verifiedCacheMaxSize)
+    {
+        this.verifiedTokens = new VerifiedTokenCache(verifiedCacheMaxSize);
+    }
+
 
     public String generateToken(Authentication auth)
 
@@ -33,11 +45,26 @@ public class JwtProvider
     public String getemailfromjwttoken(String jwt)
     {
         jwt=jwt.substring(7);
-        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+        Claims claims = getVerifiedClaims(jwt);
 
         String email = String.valueOf(claims.get("email"));
         return email;
     }
+
+    /**
+     * Claims of a token (without the "Bearer " prefix). The signature is checked only the
+     * first time a token is seen; after that its claims come from the cache until it expires.
+     */
+    public Claims getVerifiedClaims(String token)
+    {
+        Claims claims = verifiedTokens.get(token);
+        if(claims == null)
+        {
+            claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
+    }
     private String populateAuthorities(Collection <? extends GrantedAuthority> authorities)
     {
         Set<String> auths=new HashSet<>();
@@ -1,8 +1,6 @@
 package com.byteminds.blue.colller.worker.service.Config;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,12 +14,17 @@ import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
 import java.util.List;
 
 public class JwtTokenValidator extends OncePerRequestFilter
 {
+    private final JwtProvider jwtProvider;
+
+    public JwtTokenValidator(JwtProvider jwtProvider)
+    {
+        this.jwtProvider = jwtProvider;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException
@@ -35,10 +38,8 @@ public class JwtTokenValidator extends OncePerRequestFilter
 
             try
             {
-                System.out.println("");
-                //Make an object and convert into bytes
-                SecretKey key =Keys.hmacShaKeyFor(JwtConstant.SECRET_KEY.getBytes());
-                Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+                // Shared parser + verified-token cache: repeat tokens skip the HMAC check
+                Claims claims = jwtProvider.getVerifiedClaims(jwt);
 
                 String email = String.valueOf(claims.get("email"));
                 String authorities = String.valueOf((claims.get("authorities")));
@@ -0,0 +1,43 @@
+package com.byteminds.blue.colller.worker.service.Config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Application metrics on top of what Spring Boot Actuator already binds
+ * (http.server.requests, HikariCP pool gauges, JVM, executors):
+ * {@code @Timed} service timers and per-request SQL statement counts.
+ * Scraped from {@code /actuator/prometheus} on the management port.
+ */
+@Configuration
+public class MetricsConfig
+{
+    // Makes class-level @Timed on BookingService and WorkService time every public method
+    @Bean
+    TimedAspect timedAspect(MeterRegistry meterRegistry)
+    {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer sqlStatementCounterCustomizer()
+    {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    // Right after the observation filter, so statements issued by the security filters are counted too
+    @Bean
+    FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(MeterRegistry meterRegistry)
+    {
+        FilterRegistrationBean<SqlStatementMetricsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementMetricsFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,100 @@
+package com.byteminds.blue.colller.worker.service.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read replicas for {@code @Transactional(readOnly = true)} work, enabled with
+ * {@code app.datasource.routing.enabled=true} and one JDBC URL per replica in
+ * {@code app.datasource.replicas.urls}.
+ *
+ * The primary pool is still configured through {@code spring.datasource.*}; each replica
+ * gets its own read-only Hikari pool. See {@link ReadWriteRoutingDataSource} for how a
+ * connection's target is picked.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class ReadWriteRoutingConfig
+{
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties)
+    {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replicas.urls:}") List<String> urls,
+            @Value("${app.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${app.datasource.replicas.connection-timeout-ms:2000}") long connectionTimeoutMillis,
+            @Value("${app.datasource.replicas.health-check-interval-ms:5000}") long healthCheckIntervalMillis,
+            @Value("${app.datasource.routing.read-your-writes-ms:5000}") long readYourWritesMillis)
+    {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<String> replicaUrls = new ArrayList<>(urls);
+        replicaUrls.removeIf(String::isBlank);
+        for (int i = 0; i < replicaUrls.size(); i++)
+        {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(replicaUrls.get(i));
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(maximumPoolSize);
+            // Fail over to another replica quickly instead of holding the request for Hikari's default 30 s
+            replica.setConnectionTimeout(connectionTimeoutMillis);
+            // A write that ends up here by mistake fails instead of diverging the replica
+            replica.setReadOnly(true);
+            replica.setMetricRegistry(meterRegistry);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        ReadWriteRoutingDataSource routing =
+                new ReadWriteRoutingDataSource(primaryDataSource, replicas, readYourWritesMillis, meterRegistry);
+        routing.start(healthCheckIntervalMillis);
+        return routing;
+    }
+
+    // Defers fetching the real connection to the first statement, when the transaction's read-only flag is known
+    @Bean
+    @Primary
+    DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource)
+    {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    // Hand the connection back after every transaction, so each one is routed on its own.
+    // Spring's default holds it for the whole EntityManager, which with open-in-view is the
+    // whole request: a write after a read-only transaction would reuse the replica connection.
+    @Bean
+    HibernatePropertiesCustomizer connectionPerTransactionCustomizer()
+    {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,259 @@
+package com.byteminds.blue.colller.worker.service.Config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the connections of {@code @Transactional(readOnly = true)} work to the read replicas
+ * and everything else to the primary.
+ *
+ * The decision is made when a connection is actually fetched, so this has to sit behind a
+ * {@code LazyConnectionDataSourceProxy}: by the first statement the transaction's read-only
+ * flag is known. Replicas are taken round-robin, skipping any that failed their last health
+ * check or a connection attempt; with none healthy, reads fall back to the primary.
+ *
+ * Read-your-writes: once a signed-in user's read-write transaction commits, that user's reads
+ * stay on the primary for {@code readYourWritesMillis}, which should cover the replicas' lag.
+ * Other users may see the change only once the replicas have it. Like the other in-memory
+ * state, this only covers writes made through this instance.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource
+{
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    public static final String CONNECTIONS = "datasource.routing.connections";
+    public static final String HEALTHY_REPLICAS = "datasource.routing.replicas.healthy";
+
+    private static final String PRIMARY = "primary";
+    private static final int HEALTH_CHECK_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long readYourWritesMillis;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    // Signed-in user -> time until which their reads stay on the primary
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+    private ScheduledExecutorService healthChecker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long readYourWritesMillis,
+                                      MeterRegistry meterRegistry)
+    {
+        if (replicas.isEmpty())
+        {
+            throw new IllegalArgumentException("At least one replica is required for read/write routing");
+        }
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.readYourWritesMillis = readYourWritesMillis;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(HEALTHY_REPLICAS, this.replicas, all -> all.stream().filter(replica -> replica.healthy).count())
+                .description("Read replicas currently taking reads")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check the replicas every {@code intervalMillis} on a background thread.
+     */
+    public void start(long intervalMillis)
+    {
+        healthChecker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("datasource-replica-health").daemon().factory());
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the health checks and close the replica pools; the primary belongs to the caller.
+     */
+    public void close()
+    {
+        if (healthChecker != null)
+        {
+            healthChecker.shutdownNow();
+        }
+        for (Replica replica : replicas)
+        {
+            if (replica.dataSource instanceof AutoCloseable closeable)
+            {
+                try
+                {
+                    closeable.close();
+                }
+                catch (Exception e)
+                {
+                    log.warn("Failed to close replica {}", replica.name, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException
+    {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+        {
+            rememberWriterOnCommit();
+            return connect(PRIMARY, primary);
+        }
+        if (wroteRecently(currentUser()))
+        {
+            return connect(PRIMARY, primary);
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++)
+        {
+            Replica replica = nextHealthyReplica();
+            if (replica == null)
+            {
+                break;
+            }
+            try
+            {
+                return connect(replica.name, replica.dataSource);
+            }
+            catch (SQLException e)
+            {
+                markDown(replica, e);
+            }
+        }
+        return connect(PRIMARY, primary);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException
+    {
+        throw new SQLException("Read/write routing only hands out connections of its configured pools");
+    }
+
+    /**
+     * Probe every replica once: healthy replicas that stop answering are taken out of rotation,
+     * and failed ones that answer again are put back.
+     */
+    public void checkReplicas()
+    {
+        for (Replica replica : replicas)
+        {
+            try (Connection connection = replica.dataSource.getConnection())
+            {
+                if (!connection.isValid(HEALTH_CHECK_TIMEOUT_SECONDS))
+                {
+                    throw new SQLException("Connection is not valid");
+                }
+                if (!replica.healthy)
+                {
+                    log.info("Replica {} is healthy again, taking reads", replica.name);
+                    replica.healthy = true;
+                }
+            }
+            catch (SQLException e)
+            {
+                markDown(replica, e);
+            }
+        }
+        long now = System.currentTimeMillis();
+        recentWriters.values().removeIf(until -> until <= now);
+    }
+
+    private Connection connect(String target, DataSource dataSource) throws SQLException
+    {
+        Connection connection = dataSource.getConnection();
+        Counter.builder(CONNECTIONS)
+                .description("Connections handed out by read/write routing")
+                .tag("target", target)
+                .register(meterRegistry)
+                .increment();
+        return connection;
+    }
+
+    private Replica nextHealthyReplica()
+    {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++)
+        {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy)
+            {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void markDown(Replica replica, SQLException cause)
+    {
+        if (replica.healthy)
+        {
+            log.warn("Replica {} failed, sending its reads elsewhere until it recovers", replica.name, cause);
+            replica.healthy = false;
+        }
+    }
+
+    // Only a read-write transaction that commits counts as a write; plain statements outside one can't be told apart
+    private void rememberWriterOnCommit()
+    {
+        String user = currentUser();
+        if (user == null || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+        {
+            @Override
+            public void afterCommit()
+            {
+                recentWriters.put(user, System.currentTimeMillis() + readYourWritesMillis);
+            }
+        });
+    }
+
+    private boolean wroteRecently(String user)
+    {
+        Long until = user == null ? null : recentWriters.get(user);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    private static String currentUser()
+    {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated())
+        {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static final class Replica
+    {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource)
+        {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.byteminds.blue.colller.worker.service.Config;
+
+import com.byteminds.blue.colller.worker.service.models.Users;
+import com.byteminds.blue.colller.worker.service.models.Work;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for {@link Work} and {@link Users}, plus the query cache of
+ * {@code UsersRepository.findByEmail}, held in Caffeine through JCache.
+ *
+ * Every region is created here with its own size and TTL from {@code app.cache.*}; Hibernate
+ * is told to fail on any region it would otherwise create unbounded. Hits, misses, puts and
+ * evictions of each region are published as {@code cache.*} metrics tagged with the region.
+ *
+ * Entries are per instance and kept in sync only with writes made through Hibernate here;
+ * the TTL bounds how long another instance's (or a SQL) change can go unnoticed.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cache.second-level.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig
+{
+    // Hibernate's fixed region names: results of cacheable queries without their own region,
+    // and the last change time of each table that decides whether cached query results are stale
+    private static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    CacheManager hibernateCacheManager(
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.work.max-size:10000}") long workMaxSize,
+            @Value("${app.cache.work.ttl-seconds:600}") long workTtlSeconds,
+            @Value("${app.cache.users.max-size:10000}") long usersMaxSize,
+            @Value("${app.cache.users.ttl-seconds:600}") long usersTtlSeconds,
+            @Value("${app.cache.users-by-email.max-size:10000}") long usersByEmailMaxSize,
+            @Value("${app.cache.users-by-email.ttl-seconds:300}") long usersByEmailTtlSeconds)
+    {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager();
+        createRegion(cacheManager, meterRegistry, Work.CACHE_REGION, workMaxSize, workTtlSeconds);
+        createRegion(cacheManager, meterRegistry, Users.CACHE_REGION, usersMaxSize, usersTtlSeconds);
+        createRegion(cacheManager, meterRegistry, Users.EMAIL_QUERY_CACHE_REGION, usersByEmailMaxSize, usersByEmailTtlSeconds);
+        createRegion(cacheManager, meterRegistry, DEFAULT_QUERY_RESULTS_REGION, 1000, 60);
+        // Evicting a table's timestamp would let stale query results pass as fresh: one entry per table, never expired
+        createRegion(cacheManager, meterRegistry, UPDATE_TIMESTAMPS_REGION, 0, 0);
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager)
+    {
+        return properties ->
+        {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // A max size or TTL of 0 leaves that limit off
+    private static void createRegion(CacheManager cacheManager, MeterRegistry meterRegistry, String name,
+                                     long maxSize, long ttlSeconds)
+    {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize > 0)
+        {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttlSeconds > 0)
+        {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        // Registers the JCache statistics MBean that JCacheMetrics reads
+        configuration.setStatisticsEnabled(true);
+        // The provider hands every context in the JVM the same manager while it is open (tests)
+        Cache<Object, Object> cache = cacheManager.getCache(name);
+        if (cache == null)
+        {
+            cache = cacheManager.createCache(name, configuration);
+        }
+        JCacheMetrics.monitor(meterRegistry, cache);
+    }
+}
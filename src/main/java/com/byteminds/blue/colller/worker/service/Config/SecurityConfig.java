@@ -1,6 +1,8 @@
 package com.byteminds.blue.colller.worker.service.Config;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -13,19 +15,24 @@ import org.springframework.security.web.authentication.www.BasicAuthenticationFi
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig
 {
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http)throws Exception
+    SecurityFilterChain securityFilterChain(HttpSecurity http, JwtProvider jwtProvider)throws Exception
     {
         http.sessionManagement(management-> management.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(Authorize->Authorize
-                        .requestMatchers("/api/admin/**").hasAnyRole("WORKER","ADMIN")
+                        // the re-dispatch that completes an async response (e.g. the booking SSE stream) carries no JWT;
+                        // the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
                         .requestMatchers("/api/**").authenticated()
                         .anyRequest().permitAll()
-                ).addFilterBefore(new JwtTokenValidator(), BasicAuthenticationFilter.class)
+                ).addFilterBefore(new JwtTokenValidator(jwtProvider), BasicAuthenticationFilter.class)
                 .csrf(csrf->csrf.disable())
                 .cors(cors->cors.configurationSource(corsConfigrationSource()));
 
@@ -43,10 +50,13 @@ public class SecurityConfig
             }
         };
     }
+    // A fixed app.security.bcrypt.strength wins; otherwise the cost is calibrated to the target hash time
     @Bean
-    PasswordEncoder passwordEncoder()
+    PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.strength:0}") int strength,
+                                    @Value("${app.security.bcrypt.target-ms:250}") long targetMillis)
     {
-        return new BCryptPasswordEncoder();
+        int cost = strength > 0 ? strength : BcryptCostCalibrator.calibrate(Duration.ofMillis(targetMillis));
+        return new BCryptPasswordEncoder(cost);
     }
 
 }
@@ -0,0 +1,41 @@
+package com.byteminds.blue.colller.worker.service.Config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a count is open.
+ *
+ * Registered as Hibernate's statement inspector by {@link MetricsConfig}; it never changes
+ * the SQL. {@link SqlStatementMetricsFilter} opens a count per HTTP request, so every request
+ * (each on its own thread, platform or virtual) reports how many statements it issued.
+ */
+public class SqlStatementCounter implements StatementInspector
+{
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql)
+    {
+        int[] count = COUNT.get();
+        if (count != null)
+        {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    static void start()
+    {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Close the current thread's count and return it (0 if none was open).
+     */
+    static int stop()
+    {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,108 @@
+package com.byteminds.blue.colller.worker.service.Config;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of claims from tokens whose signature has already been verified.
+ *
+ * Entries are keyed by the SHA-256 of the token (raw tokens are never kept in memory)
+ * and stop being returned at the token's {@code exp}. Tokens without an expiry are
+ * never cached. When the cache is full, expired entries are swept first and then an
+ * arbitrary half is dropped; a miss only costs one normal signature check.
+ */
+class VerifiedTokenCache
+{
+    private final int maxSize;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxSize)
+    {
+        this.maxSize = maxSize;
+    }
+
+    Claims get(String token)
+    {
+        if (maxSize <= 0)
+        {
+            return null;
+        }
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null)
+        {
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis())
+        {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims;
+    }
+
+    void put(String token, Claims claims)
+    {
+        if (maxSize <= 0 || claims.getExpiration() == null)
+        {
+            return;
+        }
+        if (entries.size() >= maxSize)
+        {
+            evict();
+        }
+        entries.put(digest(token), new Entry(claims, claims.getExpiration().getTime()));
+    }
+
+    int size()
+    {
+        return entries.size();
+    }
+
+    private void evict()
+    {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis <= now);
+        if (entries.size() < maxSize)
+        {
+            return;
+        }
+        Iterator<String> keys = entries.keySet().iterator();
+        for (int i = 0; i < maxSize / 2 && keys.hasNext(); i++)
+        {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String digest(String token)
+    {
+        try
+        {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry
+    {
+        final Claims claims;
+        final long expiresAtMillis;
+
+        Entry(Claims claims, long expiresAtMillis)
+        {
+            this.claims = claims;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.byteminds.blue.colller.worker.service.Config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Startup checks and a pinning monitor for virtual-thread mode.
+ *
+ * A virtual thread that blocks while pinned to its carrier (inside a monitor on
+ * JDK 21-23, or in native code on any JDK) holds a platform thread hostage, and a few
+ * of those can stall the whole server. On startup this logs the settings that decide
+ * whether that can happen, then streams JFR {@code jdk.VirtualThreadPinned} events and
+ * logs every pin longer than the threshold with the frames that caused it.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadDiagnostics
+{
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadDiagnostics.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final DataSource dataSource;
+    private final boolean monitorEnabled;
+    private final Duration threshold;
+    private RecordingStream recording;
+
+    public VirtualThreadDiagnostics(DataSource dataSource,
+                                    @Value("${app.threads.pinning-monitor.enabled:true}") boolean monitorEnabled,
+                                    @Value("${app.threads.pinning-monitor.threshold-ms:20}") long thresholdMillis)
+    {
+        this.dataSource = dataSource;
+        this.monitorEnabled = monitorEnabled;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkOnStartup()
+    {
+        int jdk = Runtime.version().feature();
+        String driver = driverVersion();
+        log.info("Virtual-thread mode on JDK {} with JDBC driver {}", jdk, driver);
+        if (jdk < 24)
+        {
+            // JEP 491 (JDK 24) lets virtual threads unmount inside synchronized; before that they pin
+            log.warn("JDK {} pins virtual threads that block inside synchronized blocks; "
+                    + "run on JDK 24+ or keep blocking calls out of monitors", jdk);
+            if (driver.startsWith("mysql-connector-j-8"))
+            {
+                log.warn("{} guards socket I/O with synchronized and will pin carriers on this JDK", driver);
+            }
+        }
+        if (monitorEnabled)
+        {
+            startPinningMonitor();
+        }
+    }
+
+    private void startPinningMonitor()
+    {
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::logPinned);
+        recording.startAsync();
+        log.info("Logging virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+
+    private void logPinned(RecordedEvent event)
+    {
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String stack = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadDiagnostics::describe)
+                .collect(Collectors.joining("\n    at ", "\n    at ", ""));
+        log.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(), frames.isEmpty() ? "" : stack);
+    }
+
+    static String describe(RecordedFrame frame)
+    {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private String driverVersion()
+    {
+        try (Connection connection = dataSource.getConnection())
+        {
+            DatabaseMetaData meta = connection.getMetaData();
+            return meta.getDriverVersion();
+        }
+        catch (SQLException e)
+        {
+            log.warn("Could not read the JDBC driver version", e);
+            return "unknown";
+        }
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        if (recording != null)
+        {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.byteminds.blue.colller.worker.service.Controller;
+
+import com.byteminds.blue.colller.worker.service.service.BookingViewProjector;
+import com.byteminds.blue.colller.worker.service.service.UsersService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    @Autowired
+    private UsersService usersService;
+
+    @Autowired
+    private BookingViewProjector bookingViewProjector;
+
+    // Hit/miss statistics of the user identity cache
+    @GetMapping("/cache/identity")
+    public ResponseEntity<Map<String, Object>> getIdentityCacheStats() {
+        return ResponseEntity.ok(usersService.getIdentityCacheStats());
+    }
+
+    // Regenerate the booking_view read model from the bookings table
+    @PostMapping("/booking-view/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildBookingView() {
+        return ResponseEntity.ok(Map.of("rows", bookingViewProjector.rebuild()));
+    }
+}
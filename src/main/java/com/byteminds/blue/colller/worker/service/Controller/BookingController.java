@@ -1,15 +1,30 @@
 package com.byteminds.blue.colller.worker.service.Controller;
 
+import com.byteminds.blue.colller.worker.service.Response.BatchBookingResponse;
+import com.byteminds.blue.colller.worker.service.Response.BookingPageResponse;
 import com.byteminds.blue.colller.worker.service.Response.BookingResponse;
+import com.byteminds.blue.colller.worker.service.Response.BookingStatusHistoryResponse;
+import com.byteminds.blue.colller.worker.service.Response.BulkStatusResponse;
 import com.byteminds.blue.colller.worker.service.models.BookingStatus;
-import com.byteminds.blue.colller.worker.service.models.Users;
 import com.byteminds.blue.colller.worker.service.request.BookingRequest;
+import com.byteminds.blue.colller.worker.service.request.BookingSortField;
+import com.byteminds.blue.colller.worker.service.request.StreamFormat;
 import com.byteminds.blue.colller.worker.service.service.BookingService;
+import com.byteminds.blue.colller.worker.service.service.CollectionVersions;
+import com.byteminds.blue.colller.worker.service.service.UserIdentity;
 import com.byteminds.blue.colller.worker.service.service.UsersService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,20 +39,36 @@ public class BookingController {
     @Autowired
     private UsersService usersService;
     
+    @Autowired
+    private CollectionVersions collectionVersions;
+    
     // Create a new booking
     @PostMapping
     public ResponseEntity<BookingResponse> createBooking(
             @RequestHeader("Authorization") String jwt,
             @RequestBody BookingRequest bookingRequest) {
         try {
-            Users customer = usersService.findByJwtToken(jwt);
-            BookingResponse booking = bookingService.createBooking(bookingRequest, customer.getId());
+            UserIdentity customer = usersService.findIdentityByJwtToken(jwt);
+            BookingResponse booking = bookingService.createBooking(bookingRequest, customer);
             return new ResponseEntity<>(booking, HttpStatus.CREATED);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
         }
     }
     
+    // Create many bookings in one request; the response reports each item separately
+    @PostMapping("/batch")
+    public ResponseEntity<BatchBookingResponse> createBookings(
+            @RequestHeader("Authorization") String jwt,
+            @RequestBody List<BookingRequest> bookingRequests) {
+        try {
+            UserIdentity customer = usersService.findIdentityByJwtToken(jwt);
+            return ResponseEntity.ok(bookingService.createBookings(bookingRequests, customer));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     // Get all bookings (admin only)
     @GetMapping
     public ResponseEntity<List<BookingResponse>> getAllBookings() {
@@ -45,6 +76,50 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
     
+    // Stream all bookings row by row (admin only): ?stream=json for the same array, ?stream=ndjson for one per line
+    @GetMapping(params = "stream")
+    public ResponseEntity<StreamingResponseBody> streamAllBookings(@RequestParam String stream) {
+        try {
+            StreamFormat format = StreamFormat.fromParam(stream);
+            return ResponseEntity.ok().contentType(format.getMediaType()).body(bookingService.streamAllBookings(format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Get one page of all bookings (admin only)
+    @GetMapping("/page")
+    public ResponseEntity<BookingPageResponse> getAllBookingsPage(
+            @RequestParam(defaultValue = "CREATED_AT") BookingSortField sort,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(bookingService.getAllBookingsPage(sort, direction, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Live booking changes for current user (customer or worker) as Server-Sent Events.
+    // Reconnects send Last-Event-ID to receive what they missed; a "reset" event means reload the list.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamMyBookings(
+            @RequestHeader("Authorization") String jwt,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            UserIdentity user = usersService.findIdentityByJwtToken(jwt);
+            SseEmitter stream = bookingService.streamBookingChanges(user.getId(), lastEventId);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                    // keep reverse proxies from buffering the stream
+                    .header("X-Accel-Buffering", "no")
+                    .body(stream);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     // Get booking by ID
     @GetMapping("/{id}")
     public ResponseEntity<BookingResponse> getBookingById(@PathVariable Long id) {
@@ -52,23 +127,62 @@ public class BookingController {
         return booking.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
     
-    // Get bookings for current user (customer or worker)
+    // Who changed the booking's status and when, oldest change first
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<BookingStatusHistoryResponse>> getBookingHistory(@PathVariable Long id) {
+        Optional<List<BookingStatusHistoryResponse>> history = bookingService.getBookingHistory(id);
+        return history.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Get bookings for current user (customer or worker).
+    // Revalidations are answered with 304 from the in-memory version (the identity is cached), without a query.
     @GetMapping("/my-bookings")
     public ResponseEntity<List<BookingResponse>> getMyBookings(
-            @RequestHeader("Authorization") String jwt) {
+            @RequestHeader("Authorization") String jwt, WebRequest webRequest) {
+        try {
+            UserIdentity user = usersService.findIdentityByJwtToken(jwt);
+            String role = user.getRole().toString();
+            if (!"CUSTOMER".equals(role) && !"WORKER".equals(role)) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // Version before data, so a concurrent change can't be cached under the new ETag
+            CollectionVersions.Snapshot version = collectionVersions.bookingsOf(user.getId());
+            if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache().cachePrivate()).build();
+            }
+            
+            List<BookingResponse> bookings = "CUSTOMER".equals(role)
+                ? bookingService.getBookingsByCustomerId(user.getId())
+                : bookingService.getBookingsByWorkerId(user.getId());
+            
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(bookings);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Get one page of bookings for current user (customer or worker)
+    @GetMapping("/my-bookings/page")
+    public ResponseEntity<BookingPageResponse> getMyBookingsPage(
+            @RequestHeader("Authorization") String jwt,
+            @RequestParam(defaultValue = "CREATED_AT") BookingSortField sort,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            Users user = usersService.findByJwtToken(jwt);
-            List<BookingResponse> bookings;
+            UserIdentity user = usersService.findIdentityByJwtToken(jwt);
+            BookingPageResponse page;
             
             if ("CUSTOMER".equals(user.getRole().toString())) {
-                bookings = bookingService.getBookingsByCustomerId(user.getId());
+                page = bookingService.getBookingsPageByCustomerId(user.getId(), sort, direction, cursor, size);
             } else if ("WORKER".equals(user.getRole().toString())) {
-                bookings = bookingService.getBookingsByWorkerId(user.getId());
+                page = bookingService.getBookingsPageByWorkerId(user.getId(), sort, direction, cursor, size);
             } else {
                 return ResponseEntity.badRequest().build();
             }
             
-            return ResponseEntity.ok(bookings);
+            return ResponseEntity.ok(page);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -88,6 +202,36 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
     
+    // Get one page of bookings by customer ID
+    @GetMapping("/customer/{customerId}/page")
+    public ResponseEntity<BookingPageResponse> getBookingsPageByCustomerId(
+            @PathVariable Long customerId,
+            @RequestParam(defaultValue = "CREATED_AT") BookingSortField sort,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingsPageByCustomerId(customerId, sort, direction, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Get one page of bookings by worker ID
+    @GetMapping("/worker/{workerId}/page")
+    public ResponseEntity<BookingPageResponse> getBookingsPageByWorkerId(
+            @PathVariable Long workerId,
+            @RequestParam(defaultValue = "CREATED_AT") BookingSortField sort,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingsPageByWorkerId(workerId, sort, direction, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     // Get pending bookings for worker
     @GetMapping("/worker/{workerId}/pending")
     public ResponseEntity<List<BookingResponse>> getPendingBookingsForWorker(@PathVariable Long workerId) {
@@ -99,10 +243,29 @@ public class BookingController {
     @PutMapping("/{id}/status")
     public ResponseEntity<BookingResponse> updateBookingStatus(
             @PathVariable Long id,
-            @RequestParam BookingStatus status) {
+            @RequestParam BookingStatus status,
+            @RequestHeader("Authorization") String jwt) {
         try {
-            BookingResponse booking = bookingService.updateBookingStatus(id, status);
+            UserIdentity user = usersService.findIdentityByJwtToken(jwt);
+            BookingResponse booking = bookingService.updateBookingStatus(id, status, user);
             return ResponseEntity.ok(booking);
+        } catch (OptimisticLockingFailureException e) {
+            // Someone else moved the booking first; the client should reload it
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Move many bookings to one status at once; reports which ids transitioned and which were rejected
+    @PutMapping("/status")
+    public ResponseEntity<BulkStatusResponse> updateBookingStatuses(
+            @RequestParam BookingStatus status,
+            @RequestBody List<Long> bookingIds,
+            @RequestHeader("Authorization") String jwt) {
+        try {
+            UserIdentity user = usersService.findIdentityByJwtToken(jwt);
+            return ResponseEntity.ok(bookingService.updateBookingStatuses(bookingIds, status, user));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -114,9 +277,11 @@ public class BookingController {
             @PathVariable Long id,
             @RequestHeader("Authorization") String jwt) {
         try {
-            Users worker = usersService.findByJwtToken(jwt);
-            BookingResponse booking = bookingService.acceptBooking(id);
+            UserIdentity worker = usersService.findIdentityByJwtToken(jwt);
+            BookingResponse booking = bookingService.acceptBooking(id, worker);
             return ResponseEntity.ok(booking);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -128,9 +293,11 @@ public class BookingController {
             @PathVariable Long id,
             @RequestHeader("Authorization") String jwt) {
         try {
-            Users worker = usersService.findByJwtToken(jwt);
-            BookingResponse booking = bookingService.rejectBooking(id);
+            UserIdentity worker = usersService.findIdentityByJwtToken(jwt);
+            BookingResponse booking = bookingService.rejectBooking(id, worker);
             return ResponseEntity.ok(booking);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -142,9 +309,11 @@ public class BookingController {
             @PathVariable Long id,
             @RequestHeader("Authorization") String jwt) {
         try {
-            Users worker = usersService.findByJwtToken(jwt);
-            BookingResponse booking = bookingService.startWork(id);
+            UserIdentity worker = usersService.findIdentityByJwtToken(jwt);
+            BookingResponse booking = bookingService.startWork(id, worker);
             return ResponseEntity.ok(booking);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -156,9 +325,11 @@ public class BookingController {
             @PathVariable Long id,
             @RequestHeader("Authorization") String jwt) {
         try {
-            Users worker = usersService.findByJwtToken(jwt);
-            BookingResponse booking = bookingService.completeWork(id);
+            UserIdentity worker = usersService.findIdentityByJwtToken(jwt);
+            BookingResponse booking = bookingService.completeWork(id, worker);
             return ResponseEntity.ok(booking);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -170,9 +341,11 @@ public class BookingController {
             @PathVariable Long id,
             @RequestHeader("Authorization") String jwt) {
         try {
-            Users user = usersService.findByJwtToken(jwt);
-            BookingResponse booking = bookingService.cancelBooking(id);
+            UserIdentity user = usersService.findIdentityByJwtToken(jwt);
+            BookingResponse booking = bookingService.cancelBooking(id, user);
             return ResponseEntity.ok(booking);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -2,6 +2,7 @@ package com.byteminds.blue.colller.worker.service.Controller;
 import com.byteminds.blue.colller.worker.service.Response.AuthResponse;
 import com.byteminds.blue.colller.worker.service.models.Role;
 import com.byteminds.blue.colller.worker.service.request.LogInRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -12,7 +13,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -24,11 +24,15 @@ import java.util.Collection;
 import com.byteminds.blue.colller.worker.service.Config.JwtProvider;
 import com.byteminds.blue.colller.worker.service.Repository.UsersRepository;
 import com.byteminds.blue.colller.worker.service.models.Users;
+import com.byteminds.blue.colller.worker.service.request.StreamFormat;
 import com.byteminds.blue.colller.worker.service.service.CustomerUserDetailService;
+import com.byteminds.blue.colller.worker.service.service.PasswordHashingBusyException;
+import com.byteminds.blue.colller.worker.service.service.PasswordHashingService;
 import com.byteminds.blue.colller.worker.service.service.UsersService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 import java.util.List;
@@ -46,7 +50,7 @@ public class UsersController {
     @Autowired
     private  UsersRepository usersRepository;
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
     // ✅ Create a new user
     @PostMapping("/signUp")
     public ResponseEntity<AuthResponse> createUser(@RequestBody Users users) throws Exception {
@@ -60,7 +64,11 @@ public class UsersController {
         createdUser.setEmail(users.getEmail());
         createdUser.setName(users.getName());
         createdUser.setRole(users.getRole());
-        createdUser.setPasswordHash(passwordEncoder.encode(users.getPasswordHash()));
+        try {
+            createdUser.setPasswordHash(passwordHashingService.encode(users.getPasswordHash()));
+        } catch (PasswordHashingBusyException e) {
+            return busy(e);
+        }
         Users savedUser = usersRepository.save(createdUser);
 
         Authentication authentication =new UsernamePasswordAuthenticationToken(users.getEmail(),users.getPasswordHash());
@@ -81,7 +89,12 @@ public class UsersController {
         String username = req.getEmail();
         String password = req.getPassword();
 
-        Authentication authentication = authenticate(username,password);
+        Authentication authentication;
+        try {
+            authentication = authenticate(username,password);
+        } catch (PasswordHashingBusyException e) {
+            return busy(e);
+        }
 
         Collection< ? extends GrantedAuthority>authorities=authentication.getAuthorities();
         String role = authorities.isEmpty()?null:authorities.iterator().next().getAuthority();
@@ -102,19 +115,38 @@ public class UsersController {
         {
             throw new BadCredentialsException("Invalid Username");
         }
-        if(!passwordEncoder.matches(password,userDetails.getPassword()))
+        if(!passwordHashingService.matches(password,userDetails.getPassword()))
         {
             throw new BadCredentialsException("Invalid Password ");
         }
         return new UsernamePasswordAuthenticationToken(userDetails,null,userDetails.getAuthorities());
     }
 
+    // ✅ Password hashing is saturated: shed the request and tell the client when to come back
+    private ResponseEntity<AuthResponse> busy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .build();
+    }
+
     // ✅ Get all users
     @GetMapping("/")
     public ResponseEntity<List<Users>> getAllUsers() {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    // ✅ Stream all users row by row (?stream=json for the same array, ?stream=ndjson for one user per line)
+    @GetMapping(value = "/", params = "stream")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(@RequestParam String stream) {
+        StreamFormat format;
+        try {
+            format = StreamFormat.fromParam(stream);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok().contentType(format.getMediaType()).body(userService.streamAllUsers(format));
+    }
+
     // ✅ Get user by ID
     @GetMapping("/{id}")
     public ResponseEntity<Users> getUserById(@PathVariable Long id) {
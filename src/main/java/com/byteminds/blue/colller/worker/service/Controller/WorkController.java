@@ -2,29 +2,65 @@ package com.byteminds.blue.colller.worker.service.Controller;
 
 
 
-import com.byteminds.blue.colller.worker.service.models.Users;
+import com.byteminds.blue.colller.worker.service.Repository.WorkImageView;
+import com.byteminds.blue.colller.worker.service.Response.FreeSlotResponse;
+import com.byteminds.blue.colller.worker.service.Response.NearbyWorkResponse;
+import com.byteminds.blue.colller.worker.service.Response.WorkSearchPageResponse;
 import com.byteminds.blue.colller.worker.service.models.Work;
+import com.byteminds.blue.colller.worker.service.request.ImageType;
+import com.byteminds.blue.colller.worker.service.request.ImageVariant;
+import com.byteminds.blue.colller.worker.service.request.StreamFormat;
+import com.byteminds.blue.colller.worker.service.service.CollectionVersions;
+import com.byteminds.blue.colller.worker.service.service.UserIdentity;
 import com.byteminds.blue.colller.worker.service.service.UsersService;
 import com.byteminds.blue.colller.worker.service.service.WorkService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.File;
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/works")
 public class WorkController {
 
+    private static final double MAX_NEARBY_RADIUS_KM = 500;
+    private static final int MAX_NEARBY_LIMIT = 100;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    // deepest result a search can page to
+    private static final int MAX_SEARCH_WINDOW = 1000;
+    private static final int MAX_SLOT_RANGE_DAYS = 31;
+
+    // Tomcat's sendfile request attributes (see org.apache.coyote.Constants)
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
     private final WorkService workService;
     @Autowired
     private UsersService usersService;
+    @Autowired
+    private CollectionVersions collectionVersions;
+    @Value("${app.images.cache-max-age-seconds:86400}")
+    private long imageCacheMaxAgeSeconds;
 
     public WorkController(WorkService workService) {
         this.workService = workService;
@@ -44,17 +80,91 @@ public class WorkController {
             @RequestParam(required = false) Double longitude,
             @RequestParam(required = false) MultipartFile image) throws IOException {
 
-        Users user = usersService.findByJwtToken(jwt);
-        Work work = workService.createWork(
-                userId, title, description, charges, estimatedTimeHours, category, latitude, longitude, image
-        );
+        UserIdentity user = usersService.findIdentityByJwtToken(jwt);
+        Work work;
+        try {
+            work = workService.createWork(
+                    userId, title, description, charges, estimatedTimeHours, category, latitude, longitude, image
+            );
+        } catch (IllegalArgumentException e) {
+            // Not an accepted image format
+            return ResponseEntity.badRequest().build();
+        }
         return new ResponseEntity<>(work, HttpStatus.CREATED);
     }
 
-    // ✅ Get all Works
+    // ✅ Get all Works (304 from the in-memory version when the client's copy is current)
     @GetMapping
-    public ResponseEntity<List<Work>> getAllWorks() {
-        return ResponseEntity.ok(workService.getAllWork());
+    public ResponseEntity<List<Work>> getAllWorks(WebRequest webRequest) {
+        // Take the version before loading, so a concurrent change can't be cached under the new ETag
+        CollectionVersions.Snapshot version = collectionVersions.works();
+        // Sets ETag/Last-Modified on the response either way
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(workService.getAllWork());
+    }
+
+    // ✅ Stream all Works row by row (?stream=json for the same array, ?stream=ndjson for one work per line)
+    @GetMapping(params = "stream")
+    public ResponseEntity<StreamingResponseBody> streamAllWorks(@RequestParam String stream, WebRequest webRequest) {
+        StreamFormat format;
+        try {
+            format = StreamFormat.fromParam(stream);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        CollectionVersions.Snapshot version = collectionVersions.works();
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .cacheControl(CacheControl.noCache())
+                .body(workService.streamAllWork(format));
+    }
+
+    // ✅ Get nearest available Works around a point
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyWorkResponse>> getNearbyWorks(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180 || radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM || limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        int cappedLimit = Math.min(limit, MAX_NEARBY_LIMIT);
+        return ResponseEntity.ok(workService.findNearby(lat, lon, radiusKm, category, cappedLimit));
+    }
+
+    // ✅ Full-text search over available Works, optionally near a point and within a price range
+    @GetMapping("/search")
+    public ResponseEntity<WorkSearchPageResponse> searchWorks(
+            @RequestParam String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minCharges,
+            @RequestParam(required = false) Double maxCharges,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (q.isBlank() || page < 0 || size <= 0 || size > MAX_SEARCH_PAGE_SIZE || (page + 1L) * size > MAX_SEARCH_WINDOW) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean geo = lat != null || lon != null || radiusKm != null;
+        if (geo && (lat == null || lon == null || lat < -90 || lat > 90 || lon < -180 || lon > 180)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (geo && radiusKm == null) {
+            radiusKm = 10.0;
+        }
+        if (geo && (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(workService.searchWorks(q, category, minCharges, maxCharges, lat, lon, radiusKm, page, size));
     }
 
     // ✅ Get Work by ID
@@ -64,16 +174,106 @@ public class WorkController {
         return work.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
-    // ✅ Fetch Work image (download)
+    // ✅ Free time windows of the Work's worker between from and to (ISO date-times)
+    @GetMapping("/{id}/slots")
+    public ResponseEntity<List<FreeSlotResponse>> getFreeSlots(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!from.isBefore(to) || from.plusDays(MAX_SLOT_RANGE_DAYS).isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return workService.findFreeSlots(id, from, to)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // ✅ Fetch Work image (download); size=thumb|card|full picks a resized variant
     @GetMapping("/{id}/image")
-    public ResponseEntity<byte[]> getWorkImage(@PathVariable Long id) {
-        Optional<Work> work = workService.getWorkById(id);
+    public ResponseEntity<?> getWorkImage(@PathVariable Long id,
+                                          @RequestParam(required = false) String size,
+                                          ServletWebRequest webRequest) throws IOException {
+        ImageVariant variant = null;
+        if (size != null) {
+            try {
+                variant = ImageVariant.fromParam(size);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        Optional<WorkImageView> info = workService.getWorkImageInfo(id);
+        if (info.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String hash = info.get().getImageHash();
+        if (hash == null) {
+            return getLegacyWorkImage(id);
+        }
+
+        // Serve the variant if it has been generated, otherwise fall back to the original
+        if (variant != null) {
+            Optional<Resource> resized = workService.openImageVariant(hash, variant);
+            if (resized.isPresent()) {
+                return serveImage(id, resized.get(), hash + "-" + variant.getParam(), MediaType.IMAGE_JPEG,
+                        imageCacheControl(), webRequest);
+            }
+        }
+        Optional<Resource> image = workService.openImage(hash);
+        if (image.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Only an accepted image type is echoed back; anything else stored by older uploads is served as JPEG
+        String contentType = ImageType.fromContentType(info.get().getImageContentType())
+                .map(ImageType::getContentType).orElse(WorkService.DEFAULT_IMAGE_CONTENT_TYPE);
+        // An original standing in for a variant not generated yet must be revalidated, or browsers would keep
+        // the full-size image under the variant's URL for the whole max-age
+        CacheControl cacheControl = variant != null ? CacheControl.noCache().cachePrivate() : imageCacheControl();
+        return serveImage(id, image.get(), hash, MediaType.parseMediaType(contentType), cacheControl, webRequest);
+    }
+
+    private CacheControl imageCacheControl() {
+        return CacheControl.maxAge(imageCacheMaxAgeSeconds, TimeUnit.SECONDS).cachePrivate();
+    }
+
+    private ResponseEntity<?> serveImage(Long id, Resource image, String etag, MediaType contentType,
+                                         CacheControl cacheControl, ServletWebRequest webRequest) throws IOException {
+        // Content hashes are strong validators; checkNotModified also sets the ETag header
+        if (webRequest.checkNotModified("\"" + etag + "\"")) {
+            return null;
+        }
+
+        String extension = ImageType.fromContentType(contentType.toString()).map(ImageType::getExtension).orElse("jpg");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"work_" + id + "." + extension + "\"")
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .cacheControl(cacheControl)
+                .contentType(contentType);
+
+        // Whole-file GET: hand the file to Tomcat's sendfile so it goes kernel -> socket without passing through the heap
+        HttpServletRequest request = webRequest.getRequest();
+        if ("GET".equals(request.getMethod()) && request.getHeader(HttpHeaders.RANGE) == null
+                && image.isFile() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            File file = image.getFile();
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.getAbsolutePath());
+            request.setAttribute(SENDFILE_START_ATTR, 0L);
+            request.setAttribute(SENDFILE_END_ATTR, file.length());
+            return response.contentLength(file.length()).build();
+        }
+
+        // Otherwise Spring streams the Resource, answering Range requests with 206 and resource regions
+        return response.body(image);
+    }
+
+    // Rows not yet moved out of the BLOB column by ImageMigrationJob
+    private ResponseEntity<byte[]> getLegacyWorkImage(Long id) {
+        Optional<byte[]> image = workService.getLegacyImage(id);
 
-        if (work.isPresent() && work.get().getImage() != null) {
+        if (image.isPresent()) {
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"work_" + id + ".jpg\"")
                     .contentType(MediaType.IMAGE_JPEG)
-                    .body(work.get().getImage());
+                    .body(image.get());
         }
         return ResponseEntity.notFound().build();
     }
@@ -4,11 +4,15 @@ import com.byteminds.blue.colller.worker.service.models.Booking;
 import com.byteminds.blue.colller.worker.service.models.BookingStatus;
 import com.byteminds.blue.colller.worker.service.models.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -43,4 +47,41 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     // Count bookings by status for worker
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.worker.id = :workerId AND b.status = :status")
     Long countBookingsByWorkerAndStatus(@Param("workerId") Long workerId, @Param("status") BookingStatus status);
+    
+    // Time slots of every booking in the given statuses (used to build the worker schedules)
+    @Query("SELECT b.id AS id, b.worker.id AS workerId, b.scheduledDate AS scheduledDate, " +
+           "b.estimatedDurationHours AS estimatedDurationHours FROM Booking b " +
+           "WHERE b.status IN :statuses AND b.scheduledDate IS NOT NULL")
+    List<BookingSlotView> findSlotsByStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
+    
+    // Slot, status and version of one booking (the expected values of a compare-and-set transition)
+    // together with its booking_view row, which becomes the response: one read per transition
+    @Query("SELECT b.id AS id, b.worker.id AS workerId, b.scheduledDate AS scheduledDate, " +
+           "b.estimatedDurationHours AS estimatedDurationHours, b.status AS status, b.version AS version, " +
+           "v AS current FROM Booking b JOIN BookingView v ON v.id = b.id WHERE b.id = :id")
+    Optional<BookingStateView> findStateById(@Param("id") Long id);
+    
+    // Lock the given bookings that are in one of the given statuses and return their slots, statuses and versions (no entities loaded)
+    @Query(value = "SELECT id AS id, worker_id AS workerId, scheduled_date AS scheduledDate, " +
+                   "estimated_duration_hours AS estimatedDurationHours, status AS status, version AS version FROM bookings " +
+                   "WHERE id IN (:ids) AND status IN (:statuses) FOR UPDATE", nativeQuery = true)
+    List<LockedBookingView> lockByIdInAndStatusIn(@Param("ids") Collection<Long> ids,
+                                                  @Param("statuses") Collection<String> statuses);
+    
+    // Compare-and-set transition of one booking: applies only if it still has the status and version it was
+    // read with, so of two racing transitions exactly one updates a row and the other sees 0
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1, b.updatedAt = :updatedAt " +
+           "WHERE b.id = :id AND b.status = :expectedStatus AND b.version = :expectedVersion")
+    int compareAndSetStatus(@Param("id") Long id, @Param("expectedStatus") BookingStatus expectedStatus,
+                            @Param("expectedVersion") Long expectedVersion, @Param("status") BookingStatus status,
+                            @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Set-based status transition; the status predicate keeps it safe against concurrent changes
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1, b.updatedAt = :updatedAt " +
+           "WHERE b.id IN :ids AND b.status IN :predecessors")
+    int updateStatusWhereStatusIn(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status,
+                                  @Param("predecessors") Collection<BookingStatus> predecessors,
+                                  @Param("updatedAt") LocalDateTime updatedAt);
 }
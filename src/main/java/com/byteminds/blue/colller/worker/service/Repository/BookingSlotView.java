@@ -0,0 +1,17 @@
+package com.byteminds.blue.colller.worker.service.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a booking's time slot, used to build the in-memory worker schedules.
+ */
+public interface BookingSlotView {
+
+    Long getId();
+
+    Long getWorkerId();
+
+    LocalDateTime getScheduledDate();
+
+    Double getEstimatedDurationHours();
+}
@@ -0,0 +1,17 @@
+package com.byteminds.blue.colller.worker.service.Repository;
+
+import com.byteminds.blue.colller.worker.service.models.BookingStatus;
+import com.byteminds.blue.colller.worker.service.models.BookingView;
+
+/**
+ * A booking's slot plus its current status and version, read from the bookings table for a single transition,
+ * and its booking_view row as it was before the transition.
+ */
+public interface BookingStateView extends BookingSlotView {
+
+    BookingStatus getStatus();
+
+    Long getVersion();
+
+    BookingView getCurrent();
+}
@@ -0,0 +1,17 @@
+package com.byteminds.blue.colller.worker.service.Repository;
+
+import com.byteminds.blue.colller.worker.service.models.BookingStatusHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookingStatusHistoryRepository extends JpaRepository<BookingStatusHistory, Long> {
+    
+    // A booking's stored history, oldest change first
+    @Query("SELECT h FROM BookingStatusHistory h WHERE h.bookingId = :bookingId ORDER BY h.changedAt, h.id")
+    List<BookingStatusHistory> findByBookingId(@Param("bookingId") Long bookingId);
+}
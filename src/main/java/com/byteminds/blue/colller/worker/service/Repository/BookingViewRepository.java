@@ -0,0 +1,106 @@
+package com.byteminds.blue.colller.worker.service.Repository;
+
+import com.byteminds.blue.colller.worker.service.Response.BookingResponse;
+import com.byteminds.blue.colller.worker.service.models.BookingStatus;
+import com.byteminds.blue.colller.worker.service.models.BookingView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface BookingViewRepository extends JpaRepository<BookingView, Long>, JpaSpecificationExecutor<BookingView> {
+    
+    // Reads BookingResponse rows straight off the single denormalized table
+    String RESPONSE_SELECT = "SELECT new com.byteminds.blue.colller.worker.service.Response.BookingResponse(" +
+        "v.id, v.customerId, v.customerName, v.workerId, v.workerName, v.workId, v.workTitle, v.description, " +
+        "v.scheduledDate, v.estimatedDurationHours, v.totalAmount, v.status, v.customerAddress, v.customerPhone, " +
+        "v.specialInstructions, v.createdAt, v.updatedAt) FROM BookingView v ";
+    
+    // All bookings as responses
+    @Query(RESPONSE_SELECT)
+    List<BookingResponse> findAllResponses();
+    
+    // All bookings as responses, fetched lazily; the caller must close the stream inside a transaction
+    @Query(RESPONSE_SELECT)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    Stream<BookingResponse> streamAllResponses();
+    
+    // One booking as a response
+    @Query(RESPONSE_SELECT + "WHERE v.id = :id")
+    Optional<BookingResponse> findResponseById(@Param("id") Long id);
+    
+    // Several bookings as responses
+    @Query(RESPONSE_SELECT + "WHERE v.id IN :ids")
+    List<BookingResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Customer's bookings as responses
+    @Query(RESPONSE_SELECT + "WHERE v.customerId = :customerId")
+    List<BookingResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
+    
+    // Worker's bookings as responses
+    @Query(RESPONSE_SELECT + "WHERE v.workerId = :workerId")
+    List<BookingResponse> findResponsesByWorkerId(@Param("workerId") Long workerId);
+    
+    // Worker's pending bookings as responses
+    @Query(RESPONSE_SELECT + "WHERE v.workerId = :workerId AND v.status = 'PENDING'")
+    List<BookingResponse> findPendingResponsesForWorker(@Param("workerId") Long workerId);
+    
+    // Apply a status transition without reading the row
+    @Modifying
+    @Query("UPDATE BookingView v SET v.status = :status, v.version = :version, v.updatedAt = :updatedAt WHERE v.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") BookingStatus status, @Param("version") Long version,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying
+    @Query("UPDATE BookingView v SET v.status = :status, v.version = v.version + 1, v.updatedAt = :updatedAt " +
+        "WHERE v.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Keep denormalized names in step when a user is renamed
+    @Modifying
+    @Query("UPDATE BookingView v SET v.customerName = :name WHERE v.customerId = :userId")
+    int updateCustomerName(@Param("userId") Long userId, @Param("name") String name);
+    
+    @Modifying
+    @Query("UPDATE BookingView v SET v.workerName = :name WHERE v.workerId = :userId")
+    int updateWorkerName(@Param("userId") Long userId, @Param("name") String name);
+    
+    @Modifying
+    @Query("DELETE FROM BookingView v WHERE v.id = :id")
+    int deleteByBookingId(@Param("id") Long id);
+    
+    // Regenerate every row from bookings, users and work in one set-based statement
+    @Modifying
+    @Query("INSERT INTO BookingView (id, customerId, customerName, workerId, workerName, workId, workTitle, " +
+        "workCategory, description, scheduledDate, estimatedDurationHours, totalAmount, status, customerAddress, " +
+        "customerPhone, specialInstructions, version, createdAt, updatedAt) " +
+        "SELECT b.id, c.id, c.name, w.id, w.name, wk.id, wk.title, wk.category, b.description, b.scheduledDate, " +
+        "b.estimatedDurationHours, b.totalAmount, b.status, b.customerAddress, b.customerPhone, " +
+        "b.specialInstructions, b.version, b.createdAt, b.updatedAt " +
+        "FROM Booking b JOIN b.customer c JOIN b.worker w JOIN b.work wk")
+    int insertAllFromBookings();
+    
+    // Filter for keyset-paginated listings of one customer's bookings
+    static Specification<BookingView> hasCustomerId(Long customerId) {
+        return (root, query, cb) -> cb.equal(root.get("customerId"), customerId);
+    }
+    
+    // Filter for keyset-paginated listings of one worker's bookings
+    static Specification<BookingView> hasWorkerId(Long workerId) {
+        return (root, query, cb) -> cb.equal(root.get("workerId"), workerId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.byteminds.blue.colller.worker.service.Repository;
+
+/**
+ * A booking's slot plus the status and version it had when its row was locked for a bulk transition.
+ */
+public interface LockedBookingView extends BookingSlotView {
+
+    String getStatus();
+
+    Long getVersion();
+}
@@ -0,0 +1,13 @@
+package com.byteminds.blue.colller.worker.service.Repository;
+
+/**
+ * Shared settings of the {@code Stream}-returning repository queries.
+ */
+public final class StreamingQueries {
+
+    // Rows per JDBC round trip while streaming; with MySQL this needs useCursorFetch=true, or the driver reads everything
+    public static final String FETCH_SIZE = "500";
+
+    private StreamingQueries() {
+    }
+}
@@ -1,13 +1,31 @@
 package com.byteminds.blue.colller.worker.service.Repository;
 
+import com.byteminds.blue.colller.worker.service.Response.UserResponse;
 import com.byteminds.blue.colller.worker.service.models.Users;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UsersRepository extends JpaRepository<Users,Long> {
 
+    // Sign-in, sign-up and identity lookups; the result (the user's id) is query-cached
+    // and Hibernate ignores it once the users table has changed since
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Users.EMAIL_QUERY_CACHE_REGION)
+    })
     Optional<Users> findByEmail(String email);
+
+    // All users without their password hashes, fetched lazily; the caller must close the stream inside a transaction
+    @Query("SELECT new com.byteminds.blue.colller.worker.service.Response.UserResponse(" +
+           "u.id, u.name, u.email, u.phone, u.role, u.city, u.address, u.createdAt, u.updatedAt) FROM Users u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    Stream<UserResponse> streamAll();
 }
@@ -0,0 +1,15 @@
+package com.byteminds.blue.colller.worker.service.Repository;
+
+/**
+ * Image metadata of a Work, read without touching the legacy image BLOB.
+ */
+public interface WorkImageView {
+
+    Long getId();
+
+    String getImageHash();
+
+    String getImageContentType();
+
+    Long getImageSize();
+}
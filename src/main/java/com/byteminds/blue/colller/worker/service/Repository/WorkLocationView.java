@@ -0,0 +1,24 @@
+package com.byteminds.blue.colller.worker.service.Repository;
+
+/**
+ * Lightweight projection of a Work row used to build the in-memory geo index.
+ * Only selects the columns the index needs, so the image BLOB is never read.
+ */
+public interface WorkLocationView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getCategory();
+
+    Double getCharges();
+
+    Double getEstimatedTimeHours();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    Long getWorkerId();
+}
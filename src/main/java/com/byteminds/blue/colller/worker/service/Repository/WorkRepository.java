@@ -1,11 +1,51 @@
 package com.byteminds.blue.colller.worker.service.Repository;
 
+import com.byteminds.blue.colller.worker.service.Response.WorkResponse;
 import com.byteminds.blue.colller.worker.service.models.Work;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface WorkRepository extends JpaRepository<Work,Long> {
 
+    // Locations of all available works (used to build the geo index)
+    @Query("SELECT w.id AS id, w.title AS title, w.category AS category, w.charges AS charges, " +
+           "w.estimatedTimeHours AS estimatedTimeHours, w.latitude AS latitude, w.longitude AS longitude, " +
+           "w.worker.id AS workerId FROM Work w " +
+           "WHERE w.isAvailable = true AND w.latitude IS NOT NULL AND w.longitude IS NOT NULL")
+    List<WorkLocationView> findAvailableWorkLocations();
+
+    // Searchable text of all available works (used to build the full-text index)
+    @Query("SELECT w.id AS id, w.title AS title, w.description AS description, w.category AS category, " +
+           "w.charges AS charges, w.estimatedTimeHours AS estimatedTimeHours, w.latitude AS latitude, " +
+           "w.longitude AS longitude, w.worker.id AS workerId FROM Work w WHERE w.isAvailable = true")
+    List<WorkSearchView> findAvailableWorkText();
+
+    // Image metadata only (never loads the legacy BLOB)
+    @Query("SELECT w.id AS id, w.imageHash AS imageHash, w.imageContentType AS imageContentType, " +
+           "w.imageSize AS imageSize FROM Work w WHERE w.id = :id")
+    Optional<WorkImageView> findImageById(@Param("id") Long id);
+
+    // Legacy in-row image BLOB, for works not yet moved to the image store
+    @Query("SELECT i.image FROM LegacyWorkImage i WHERE i.id = :id")
+    Optional<byte[]> findLegacyImageById(@Param("id") Long id);
 
+    // All works with their worker (without the password hash), fetched lazily;
+    // the caller must close the stream inside a transaction
+    @Query("SELECT new com.byteminds.blue.colller.worker.service.Response.WorkResponse(" +
+           "w.id, w.title, w.description, w.charges, w.estimatedTimeHours, w.category, w.latitude, w.longitude, " +
+           "w.isAvailable, w.createdAt, w.imageHash, w.imageContentType, w.imageSize, " +
+           "u.id, u.name, u.email, u.phone, u.role, u.city, u.address, u.createdAt, u.updatedAt) " +
+           "FROM Work w JOIN w.worker u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    Stream<WorkResponse> streamAll();
 }
@@ -0,0 +1,26 @@
+package com.byteminds.blue.colller.worker.service.Repository;
+
+/**
+ * Projection of a Work row used to build the in-memory full-text index.
+ * Carries the searchable text plus what a search hit returns; the image BLOB is never read.
+ */
+public interface WorkSearchView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    String getCategory();
+
+    Double getCharges();
+
+    Double getEstimatedTimeHours();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    Long getWorkerId();
+}
@@ -0,0 +1,59 @@
+package com.byteminds.blue.colller.worker.service.Response;
+
+public class BatchBookingItemResponse {
+    private int index;
+    private boolean created;
+    private BookingResponse booking;
+    private String error;
+
+    // Constructors
+    public BatchBookingItemResponse() {}
+
+    public static BatchBookingItemResponse created(int index, BookingResponse booking) {
+        BatchBookingItemResponse item = new BatchBookingItemResponse();
+        item.index = index;
+        item.created = true;
+        item.booking = booking;
+        return item;
+    }
+
+    public static BatchBookingItemResponse failed(int index, String error) {
+        BatchBookingItemResponse item = new BatchBookingItemResponse();
+        item.index = index;
+        item.error = error;
+        return item;
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean isCreated() {
+        return created;
+    }
+
+    public void setCreated(boolean created) {
+        this.created = created;
+    }
+
+    public BookingResponse getBooking() {
+        return booking;
+    }
+
+    public void setBooking(BookingResponse booking) {
+        this.booking = booking;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,43 @@
+package com.byteminds.blue.colller.worker.service.Response;
+
+import java.util.List;
+
+public class BatchBookingResponse {
+    private int created;
+    private int failed;
+    private List<BatchBookingItemResponse> results;
+
+    // Constructors
+    public BatchBookingResponse() {}
+
+    public BatchBookingResponse(List<BatchBookingItemResponse> results) {
+        this.results = results;
+        this.created = (int) results.stream().filter(BatchBookingItemResponse::isCreated).count();
+        this.failed = results.size() - created;
+    }
+
+    // Getters and Setters
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchBookingItemResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchBookingItemResponse> results) {
+        this.results = results;
+    }
+}
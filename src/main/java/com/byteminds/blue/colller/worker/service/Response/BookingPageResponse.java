@@ -0,0 +1,53 @@
+package com.byteminds.blue.colller.worker.service.Response;
+
+import java.util.List;
+
+public class BookingPageResponse {
+    private List<BookingResponse> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    // Constructors
+    public BookingPageResponse() {}
+
+    public BookingPageResponse(List<BookingResponse> content, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = content.size();
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<BookingResponse> getContent() {
+        return content;
+    }
+
+    public void setContent(List<BookingResponse> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -25,6 +25,31 @@ public class BookingResponse {
     // Constructors
     public BookingResponse() {}
     
+    // Used by the JPQL constructor expressions in BookingViewRepository
+    public BookingResponse(Long id, Long customerId, String customerName, Long workerId, String workerName,
+                           Long workId, String workTitle, String description, LocalDateTime scheduledDate,
+                           Double estimatedDurationHours, Double totalAmount, BookingStatus status,
+                           String customerAddress, String customerPhone, String specialInstructions,
+                           LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.workerId = workerId;
+        this.workerName = workerName;
+        this.workId = workId;
+        this.workTitle = workTitle;
+        this.description = description;
+        this.scheduledDate = scheduledDate;
+        this.estimatedDurationHours = estimatedDurationHours;
+        this.totalAmount = totalAmount;
+        this.status = status;
+        this.customerAddress = customerAddress;
+        this.customerPhone = customerPhone;
+        this.specialInstructions = specialInstructions;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,66 @@
+package com.byteminds.blue.colller.worker.service.Response;
+
+import com.byteminds.blue.colller.worker.service.models.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public class BookingStatusHistoryResponse {
+    private BookingStatus fromStatus;
+    private BookingStatus toStatus;
+    private Long changedById;
+    private String changedByName;
+    private LocalDateTime changedAt;
+
+    // Constructors
+    public BookingStatusHistoryResponse() {}
+
+    public BookingStatusHistoryResponse(BookingStatus fromStatus, BookingStatus toStatus, Long changedById,
+                                        String changedByName, LocalDateTime changedAt) {
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.changedById = changedById;
+        this.changedByName = changedByName;
+        this.changedAt = changedAt;
+    }
+
+    // Getters and Setters
+    public BookingStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(BookingStatus fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public BookingStatus getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(BookingStatus toStatus) {
+        this.toStatus = toStatus;
+    }
+
+    public Long getChangedById() {
+        return changedById;
+    }
+
+    public void setChangedById(Long changedById) {
+        this.changedById = changedById;
+    }
+
+    public String getChangedByName() {
+        return changedByName;
+    }
+
+    public void setChangedByName(String changedByName) {
+        this.changedByName = changedByName;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
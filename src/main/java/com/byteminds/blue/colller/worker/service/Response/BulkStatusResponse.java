@@ -0,0 +1,45 @@
+package com.byteminds.blue.colller.worker.service.Response;
+
+import com.byteminds.blue.colller.worker.service.models.BookingStatus;
+
+import java.util.List;
+
+public class BulkStatusResponse {
+    private BookingStatus status;
+    private List<Long> transitioned;
+    private List<Long> rejected;
+
+    // Constructors
+    public BulkStatusResponse() {}
+
+    public BulkStatusResponse(BookingStatus status, List<Long> transitioned, List<Long> rejected) {
+        this.status = status;
+        this.transitioned = transitioned;
+        this.rejected = rejected;
+    }
+
+    // Getters and Setters
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+
+    public List<Long> getTransitioned() {
+        return transitioned;
+    }
+
+    public void setTransitioned(List<Long> transitioned) {
+        this.transitioned = transitioned;
+    }
+
+    public List<Long> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(List<Long> rejected) {
+        this.rejected = rejected;
+    }
+}
@@ -0,0 +1,33 @@
+package com.byteminds.blue.colller.worker.service.Response;
+
+import java.time.LocalDateTime;
+
+public class FreeSlotResponse {
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    // Constructors
+    public FreeSlotResponse() {}
+
+    public FreeSlotResponse(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public void setEnd(LocalDateTime end) {
+        this.end = end;
+    }
+}
@@ -0,0 +1,89 @@
+package com.byteminds.blue.colller.worker.service.Response;
+
+public class NearbyWorkResponse {
+    private Long id;
+    private String title;
+    private String category;
+    private Double charges;
+    private Double estimatedTimeHours;
+    private Double latitude;
+    private Double longitude;
+    private Long workerId;
+    private Double distanceKm;
+
+    // Constructors
+    public NearbyWorkResponse() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Double getCharges() {
+        return charges;
+    }
+
+    public void setCharges(Double charges) {
+        this.charges = charges;
+    }
+
+    public Double getEstimatedTimeHours() {
+        return estimatedTimeHours;
+    }
+
+    public void setEstimatedTimeHours(Double estimatedTimeHours) {
+        this.estimatedTimeHours = estimatedTimeHours;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Long getWorkerId() {
+        return workerId;
+    }
+
+    public void setWorkerId(Long workerId) {
+        this.workerId = workerId;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(Double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+}
@@ -0,0 +1,159 @@
+package com.byteminds.blue.colller.worker.service.Response;
+
+import com.byteminds.blue.colller.worker.service.models.Role;
+
+import java.time.LocalDateTime;
+
+// A work post as listed to clients, with its worker as a UserResponse (no password hash)
+public class WorkResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private Double charges;
+    private Double estimatedTimeHours;
+    private String category;
+    private Double latitude;
+    private Double longitude;
+    private Boolean available;
+    private LocalDateTime createdAt;
+    private String imageHash;
+    private String imageContentType;
+    private Long imageSize;
+    private UserResponse worker;
+
+    // Constructors
+    public WorkResponse() {}
+
+    // Flat, so that a JPQL constructor expression can build it from one row of work joined with users
+    public WorkResponse(Long id, String title, String description, Double charges, Double estimatedTimeHours, String category, Double latitude, Double longitude, Boolean available, LocalDateTime createdAt, String imageHash, String imageContentType, Long imageSize,
+                        Long workerId, String workerName, String workerEmail, String workerPhone, Role workerRole, String workerCity, String workerAddress, LocalDateTime workerCreatedAt, LocalDateTime workerUpdatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.charges = charges;
+        this.estimatedTimeHours = estimatedTimeHours;
+        this.category = category;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.available = available;
+        this.createdAt = createdAt;
+        this.imageHash = imageHash;
+        this.imageContentType = imageContentType;
+        this.imageSize = imageSize;
+        this.worker = new UserResponse(workerId, workerName, workerEmail, workerPhone, workerRole, workerCity,
+                workerAddress, workerCreatedAt, workerUpdatedAt);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Double getCharges() {
+        return charges;
+    }
+
+    public void setCharges(Double charges) {
+        this.charges = charges;
+    }
+
+    public Double getEstimatedTimeHours() {
+        return estimatedTimeHours;
+    }
+
+    public void setEstimatedTimeHours(Double estimatedTimeHours) {
+        this.estimatedTimeHours = estimatedTimeHours;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Boolean getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Boolean available) {
+        this.available = available;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    public String getImageContentType() {
+        return imageContentType;
+    }
+
+    public void setImageContentType(String imageContentType) {
+        this.imageContentType = imageContentType;
+    }
+
+    public Long getImageSize() {
+        return imageSize;
+    }
+
+    public void setImageSize(Long imageSize) {
+        this.imageSize = imageSize;
+    }
+
+    public UserResponse getWorker() {
+        return worker;
+    }
+
+    public void setWorker(UserResponse worker) {
+        this.worker = worker;
+    }
+}
@@ -0,0 +1,63 @@
+package com.byteminds.blue.colller.worker.service.Response;
+
+import java.util.List;
+
+public class WorkSearchPageResponse {
+    private List<WorkSearchResponse> content;
+    private int page;
+    private int size;
+    private long totalHits;
+    private boolean hasNext;
+
+    // Constructors
+    public WorkSearchPageResponse() {}
+
+    public WorkSearchPageResponse(List<WorkSearchResponse> content, int page, long totalHits, boolean hasNext) {
+        this.content = content;
+        this.page = page;
+        this.size = content.size();
+        this.totalHits = totalHits;
+        this.hasNext = hasNext;
+    }
+
+    // Getters and Setters
+    public List<WorkSearchResponse> getContent() {
+        return content;
+    }
+
+    public void setContent(List<WorkSearchResponse> content) {
+        this.content = content;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    public void setTotalHits(long totalHits) {
+        this.totalHits = totalHits;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
@@ -1,13 +1,22 @@
 package com.byteminds.blue.colller.worker.service.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bookings")
 public class Booking {
+    // Ids handed out in blocks from a table (MySQL has no sequences), so inserts can be JDBC-batched;
+    // IDENTITY would force one round trip per row. BookingIdGeneratorInitializer aligns the table with existing rows.
+    public static final String ID_GENERATOR_TABLE = "id_generators";
+    public static final String ID_GENERATOR_KEY = "bookings";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "booking_id")
+    @TableGenerator(name = "booking_id", table = ID_GENERATOR_TABLE, pkColumnName = "sequence_name",
+        valueColumnName = "next_val", pkColumnValue = ID_GENERATOR_KEY, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -47,6 +56,13 @@ public class Booking {
     @Column(name = "special_instructions")
     private String specialInstructions;
     
+    // Bumped by every change; status transitions compare-and-set on it together with the status.
+    // The default fills the column for rows that existed before it was added.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -174,6 +190,14 @@ public class Booking {
         this.specialInstructions = specialInstructions;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,145 @@
+package com.byteminds.blue.colller.worker.service.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One booking lifecycle event in the transactional outbox.
+ *
+ * Rows are appended by BookingOutbox in the same transaction as the booking change they
+ * describe, so an event exists exactly when its change committed. BookingOutboxRelay hands
+ * them to the event sinks and then only stamps publishedAt; nothing else ever updates a row.
+ * Within one booking, events are ordered by bookingVersion.
+ */
+@Entity
+@Table(name = "booking_events", indexes = {
+    @Index(name = "idx_booking_events_pending", columnList = "published_at, id"),
+    @Index(name = "idx_booking_events_booking", columnList = "booking_id, booking_version")
+})
+public class BookingEvent {
+    public static final String ID_GENERATOR_KEY = "booking_events";
+    
+    // Same pooled table generator as bookings, so the events of a batch insert are batched too
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "booking_event_id")
+    @TableGenerator(name = "booking_event_id", table = Booking.ID_GENERATOR_TABLE, pkColumnName = "sequence_name",
+        valueColumnName = "next_val", pkColumnValue = ID_GENERATOR_KEY, allocationSize = Booking.ID_ALLOCATION_SIZE)
+    private Long id;
+    
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+    
+    // The booking's version after the change
+    @Column(name = "booking_version", nullable = false)
+    private Long bookingVersion;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private BookingEventType type;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private BookingStatus fromStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    private BookingStatus toStatus;
+    
+    // The booking as JSON (a BookingResponse) right after the change
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+    
+    // Constructors
+    public BookingEvent() {}
+    
+    public BookingEvent(Long bookingId, Long bookingVersion, BookingEventType type, BookingStatus fromStatus,
+                        BookingStatus toStatus, String payload, LocalDateTime createdAt) {
+        this.bookingId = bookingId;
+        this.bookingVersion = bookingVersion;
+        this.type = type;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getBookingId() {
+        return bookingId;
+    }
+    
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+    
+    public Long getBookingVersion() {
+        return bookingVersion;
+    }
+    
+    public void setBookingVersion(Long bookingVersion) {
+        this.bookingVersion = bookingVersion;
+    }
+    
+    public BookingEventType getType() {
+        return type;
+    }
+    
+    public void setType(BookingEventType type) {
+        this.type = type;
+    }
+    
+    public BookingStatus getFromStatus() {
+        return fromStatus;
+    }
+    
+    public void setFromStatus(BookingStatus fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+    
+    public BookingStatus getToStatus() {
+        return toStatus;
+    }
+    
+    public void setToStatus(BookingStatus toStatus) {
+        this.toStatus = toStatus;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+    
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+}
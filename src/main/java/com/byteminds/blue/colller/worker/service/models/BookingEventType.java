@@ -0,0 +1,6 @@
+package com.byteminds.blue.colller.worker.service.models;
+
+public enum BookingEventType {
+    CREATED,
+    STATUS_CHANGED
+}
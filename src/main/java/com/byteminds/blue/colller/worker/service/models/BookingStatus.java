@@ -1,10 +1,43 @@
 package com.byteminds.blue.colller.worker.service.models;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum BookingStatus {
     PENDING,
     CONFIRMED,
     IN_PROGRESS,
     COMPLETED,
     CANCELLED,
-    REJECTED
+    REJECTED;
+    
+    // Transition table: the statuses a booking in this status may move to. Anything else is rejected,
+    // and the terminal statuses (COMPLETED, CANCELLED, REJECTED) move nowhere.
+    public Set<BookingStatus> allowedSuccessors() {
+        switch (this) {
+            case PENDING:
+                return EnumSet.of(CONFIRMED, CANCELLED, REJECTED);
+            case CONFIRMED:
+                return EnumSet.of(IN_PROGRESS, CANCELLED);
+            case IN_PROGRESS:
+                return EnumSet.of(COMPLETED);
+            default:
+                return EnumSet.noneOf(BookingStatus.class);
+        }
+    }
+    
+    public boolean canTransitionTo(BookingStatus next) {
+        return allowedSuccessors().contains(next);
+    }
+    
+    // Statuses a booking may move into this one from (the transition table read backwards; used by the set-based bulk transitions)
+    public Set<BookingStatus> allowedPredecessors() {
+        Set<BookingStatus> predecessors = EnumSet.noneOf(BookingStatus.class);
+        for (BookingStatus status : values()) {
+            if (status.canTransitionTo(this)) {
+                predecessors.add(status);
+            }
+        }
+        return predecessors;
+    }
 }
@@ -0,0 +1,127 @@
+package com.byteminds.blue.colller.worker.service.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One audit record of a booking status change: who moved the booking from which status
+ * to which, and when. Creation is recorded as a change from no status to PENDING.
+ *
+ * Rows are written in batches by BookingHistoryRecorder, outside the booking's transaction
+ * unless the recorder runs in sync mode. entryId is assigned when the change is recorded,
+ * so an entry replayed from the write-ahead file after a crash is never stored twice.
+ */
+@Entity
+@Table(name = "booking_status_history", indexes = {
+    @Index(name = "idx_booking_status_history_booking", columnList = "booking_id, changed_at"),
+    @Index(name = "uk_booking_status_history_entry", columnList = "entry_id", unique = true)
+})
+public class BookingStatusHistory {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "entry_id", nullable = false, length = 36)
+    private String entryId;
+    
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private BookingStatus fromStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    private BookingStatus toStatus;
+    
+    // The user who made the change, with their name at that time
+    @Column(name = "changed_by_id")
+    private Long changedById;
+    
+    @Column(name = "changed_by_name")
+    private String changedByName;
+    
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+    
+    // Constructors
+    public BookingStatusHistory() {}
+    
+    public BookingStatusHistory(String entryId, Long bookingId, BookingStatus fromStatus, BookingStatus toStatus,
+                                Long changedById, String changedByName, LocalDateTime changedAt) {
+        this.entryId = entryId;
+        this.bookingId = bookingId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.changedById = changedById;
+        this.changedByName = changedByName;
+        this.changedAt = changedAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getEntryId() {
+        return entryId;
+    }
+    
+    public void setEntryId(String entryId) {
+        this.entryId = entryId;
+    }
+    
+    public Long getBookingId() {
+        return bookingId;
+    }
+    
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+    
+    public BookingStatus getFromStatus() {
+        return fromStatus;
+    }
+    
+    public void setFromStatus(BookingStatus fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+    
+    public BookingStatus getToStatus() {
+        return toStatus;
+    }
+    
+    public void setToStatus(BookingStatus toStatus) {
+        this.toStatus = toStatus;
+    }
+    
+    public Long getChangedById() {
+        return changedById;
+    }
+    
+    public void setChangedById(Long changedById) {
+        this.changedById = changedById;
+    }
+    
+    public String getChangedByName() {
+        return changedByName;
+    }
+    
+    public void setChangedByName(String changedByName) {
+        this.changedByName = changedByName;
+    }
+    
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+    
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
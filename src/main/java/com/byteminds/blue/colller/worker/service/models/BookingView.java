@@ -0,0 +1,242 @@
+package com.byteminds.blue.colller.worker.service.models;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized read model of a booking: one row per booking holding everything the
+ * listing and dashboard endpoints show, so reads never join bookings, users and work.
+ *
+ * Written by BookingViewProjector in the same transaction as every booking change,
+ * and fully regenerable from the source tables with BookingViewProjector.rebuild().
+ */
+@Entity
+@Table(name = "booking_view", indexes = {
+    // Keyset pagination seeks; InnoDB appends the primary key, which supplies the id tie-breaker
+    @Index(name = "idx_booking_view_created_at", columnList = "created_at"),
+    @Index(name = "idx_booking_view_scheduled_date", columnList = "scheduled_date"),
+    @Index(name = "idx_booking_view_customer_created_at", columnList = "customer_id, created_at"),
+    @Index(name = "idx_booking_view_customer_scheduled_date", columnList = "customer_id, scheduled_date"),
+    @Index(name = "idx_booking_view_worker_created_at", columnList = "worker_id, created_at"),
+    @Index(name = "idx_booking_view_worker_scheduled_date", columnList = "worker_id, scheduled_date"),
+    @Index(name = "idx_booking_view_worker_status", columnList = "worker_id, status")
+})
+public class BookingView {
+    // Same value as Booking.id (not generated)
+    @Id
+    private Long id;
+    
+    @Column(name = "customer_id")
+    private Long customerId;
+    
+    @Column(name = "customer_name")
+    private String customerName;
+    
+    @Column(name = "worker_id")
+    private Long workerId;
+    
+    @Column(name = "worker_name")
+    private String workerName;
+    
+    @Column(name = "work_id")
+    private Long workId;
+    
+    @Column(name = "work_title")
+    private String workTitle;
+    
+    @Column(name = "work_category")
+    private String workCategory;
+    
+    @Column(nullable = false)
+    private String description;
+    
+    @Column(name = "scheduled_date")
+    private LocalDateTime scheduledDate;
+    
+    @Column(name = "estimated_duration_hours")
+    private Double estimatedDurationHours;
+    
+    @Column(name = "total_amount")
+    private Double totalAmount;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingStatus status;
+    
+    @Column(name = "customer_address")
+    private String customerAddress;
+    
+    @Column(name = "customer_phone")
+    private String customerPhone;
+    
+    @Column(name = "special_instructions")
+    private String specialInstructions;
+    
+    // Copy of bookings.version (transitions still take the expected version from bookings itself)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public BookingView() {}
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getCustomerId() {
+        return customerId;
+    }
+    
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+    
+    public String getCustomerName() {
+        return customerName;
+    }
+    
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+    
+    public Long getWorkerId() {
+        return workerId;
+    }
+    
+    public void setWorkerId(Long workerId) {
+        this.workerId = workerId;
+    }
+    
+    public String getWorkerName() {
+        return workerName;
+    }
+    
+    public void setWorkerName(String workerName) {
+        this.workerName = workerName;
+    }
+    
+    public Long getWorkId() {
+        return workId;
+    }
+    
+    public void setWorkId(Long workId) {
+        this.workId = workId;
+    }
+    
+    public String getWorkTitle() {
+        return workTitle;
+    }
+    
+    public void setWorkTitle(String workTitle) {
+        this.workTitle = workTitle;
+    }
+    
+    public String getWorkCategory() {
+        return workCategory;
+    }
+    
+    public void setWorkCategory(String workCategory) {
+        this.workCategory = workCategory;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public LocalDateTime getScheduledDate() {
+        return scheduledDate;
+    }
+    
+    public void setScheduledDate(LocalDateTime scheduledDate) {
+        this.scheduledDate = scheduledDate;
+    }
+    
+    public Double getEstimatedDurationHours() {
+        return estimatedDurationHours;
+    }
+    
+    public void setEstimatedDurationHours(Double estimatedDurationHours) {
+        this.estimatedDurationHours = estimatedDurationHours;
+    }
+    
+    public Double getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(Double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    public BookingStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+    
+    public String getCustomerAddress() {
+        return customerAddress;
+    }
+    
+    public void setCustomerAddress(String customerAddress) {
+        this.customerAddress = customerAddress;
+    }
+    
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+    
+    public void setCustomerPhone(String customerPhone) {
+        this.customerPhone = customerPhone;
+    }
+    
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+    
+    public void setSpecialInstructions(String specialInstructions) {
+        this.specialInstructions = specialInstructions;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
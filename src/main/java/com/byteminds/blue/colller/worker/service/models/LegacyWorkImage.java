@@ -0,0 +1,35 @@
+package com.byteminds.blue.colller.worker.service.models;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Legacy in-row image (BLOB) of a work post. New uploads go to the ImageStore and leave it
+ * null; it is kept until ImageMigrationJob has moved every existing row out.
+ *
+ * Maps the same {@code work} table as {@link Work}, which leaves the column out so that
+ * loading or caching a Work never reads the BLOB (without bytecode enhancement Hibernate
+ * would ignore a lazy basic attribute).
+ */
+@Entity
+@Immutable
+@Table(name = "work")
+public class LegacyWorkImage {
+
+    // Same key as Work. Declared IDENTITY here too: whichever entity ends up defining the
+    // table for schema generation must keep the column auto-incremented.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Lob
+    private byte[] image;
+
+    public Long getId() {
+        return id;
+    }
+
+    public byte[] getImage() {
+        return image;
+    }
+}
@@ -1,12 +1,20 @@
 package com.byteminds.blue.colller.worker.service.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
+// Second-level cached, as is the findByEmail lookup (see SecondLevelCacheConfig)
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Users.CACHE_REGION)
 public class Users {
+
+    public static final String CACHE_REGION = "users";
+    public static final String EMAIL_QUERY_CACHE_REGION = "users-by-email";
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
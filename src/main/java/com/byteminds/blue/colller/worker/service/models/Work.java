@@ -1,12 +1,20 @@
 package com.byteminds.blue.colller.worker.service.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
+// Second-level cached (see SecondLevelCacheConfig). The legacy image BLOB is mapped
+// separately by LegacyWorkImage, so it is never loaded or cached with a Work.
 @Entity
 @Table(name = "work")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Work.CACHE_REGION)
 public class Work {
 
+    public static final String CACHE_REGION = "work";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -29,10 +37,15 @@ public class Work {
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
-    // Store image directly as binary (BLOB)
-    @Lob
-    @Basic(fetch = FetchType.LAZY) // Lazy load so it doesn’t slow normal queries
-    private byte[] image;
+    // SHA-256 of the image in the ImageStore
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
+    @Column(name = "image_content_type")
+    private String imageContentType;
+
+    @Column(name = "image_size")
+    private Long imageSize;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -120,12 +133,28 @@ public class Work {
         this.createdAt = createdAt;
     }
 
-    public byte[] getImage() {
-        return image;
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    public String getImageContentType() {
+        return imageContentType;
+    }
+
+    public void setImageContentType(String imageContentType) {
+        this.imageContentType = imageContentType;
+    }
+
+    public Long getImageSize() {
+        return imageSize;
     }
 
-    public void setImage(byte[] image) {
-        this.image = image;
+    public void setImageSize(Long imageSize) {
+        this.imageSize = imageSize;
     }
 
     public Users getWorker() {
@@ -0,0 +1,20 @@
+package com.byteminds.blue.colller.worker.service.request;
+
+/**
+ * Columns a booking listing can be ordered by. Each is paired with the booking id
+ * as a tie-breaker so the ordering is total and can be used as a keyset cursor.
+ */
+public enum BookingSortField {
+    CREATED_AT("createdAt"),
+    SCHEDULED_DATE("scheduledDate");
+
+    private final String property;
+
+    BookingSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+}
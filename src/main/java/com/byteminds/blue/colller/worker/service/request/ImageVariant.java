@@ -0,0 +1,39 @@
+package com.byteminds.blue.colller.worker.service.request;
+
+/**
+ * Fixed-size renditions generated for every work image.
+ * Each variant is a JPEG whose longest side is at most {@code maxDimension} pixels.
+ */
+public enum ImageVariant {
+    THUMB("thumb", 160),
+    CARD("card", 480),
+    FULL("full", 1600);
+
+    private final String param;
+    private final int maxDimension;
+
+    ImageVariant(String param, int maxDimension) {
+        this.param = param;
+        this.maxDimension = maxDimension;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    /**
+     * Parse the {@code size} query parameter (case-insensitive).
+     */
+    public static ImageVariant fromParam(String param) {
+        for (ImageVariant variant : values()) {
+            if (variant.param.equalsIgnoreCase(param)) {
+                return variant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown image size: " + param);
+    }
+}
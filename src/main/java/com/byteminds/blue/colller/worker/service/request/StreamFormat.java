@@ -0,0 +1,41 @@
+package com.byteminds.blue.colller.worker.service.request;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Body formats of the streamed collection endpoints ({@code ?stream=json|ndjson}).
+ * {@code json} is the same array the endpoint returns unstreamed; {@code ndjson} writes
+ * one object per line, so a client can process rows before the response ends.
+ */
+public enum StreamFormat {
+    JSON("json", MediaType.APPLICATION_JSON),
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+    private final String param;
+    private final MediaType mediaType;
+
+    StreamFormat(String param, MediaType mediaType) {
+        this.param = param;
+        this.mediaType = mediaType;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Parse the {@code stream} query parameter (case-insensitive).
+     */
+    public static StreamFormat fromParam(String param) {
+        for (StreamFormat format : values()) {
+            if (format.param.equalsIgnoreCase(param)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown stream format: " + param);
+    }
+}
@@ -0,0 +1,56 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.models.BookingView;
+import com.byteminds.blue.colller.worker.service.request.BookingSortField;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opaque continuation token for keyset-paginated booking listings.
+ *
+ * The token carries the sort it was issued for plus the (sort value, id) of the
+ * last row on the page, so the next page is a plain range seek on the index
+ * instead of an OFFSET scan. Clients must treat it as an opaque string.
+ */
+final class BookingCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private BookingCursor() {
+    }
+
+    static String encode(BookingSortField field, Sort.Direction direction, BookingView last) {
+        LocalDateTime value = field == BookingSortField.CREATED_AT ? last.getCreatedAt() : last.getScheduledDate();
+        String raw = field.name() + SEPARATOR + direction.name() + SEPARATOR + value + SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token back into a keyset position, checking it was issued for the same sort.
+     */
+    static ScrollPosition decode(String token, BookingSortField field, Sort.Direction direction) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        if (parts.length != 4 || !field.name().equals(parts[0]) || !direction.name().equals(parts[1])) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            keys.put(field.getProperty(), LocalDateTime.parse(parts[2]));
+            keys.put("id", Long.valueOf(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,25 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.models.BookingEvent;
+
+import java.util.List;
+
+/**
+ * A consumer of booking lifecycle events (notifications, analytics, billing, ...).
+ *
+ * Delivery is at least once: a batch is handed over again if any sink fails or the process
+ * dies before it is marked published, so sinks should ignore event ids they have already seen.
+ * Events of one booking always arrive in version order.
+ */
+public interface BookingEventSink {
+
+    /**
+     * Short name used in logs and as the {@code sink} metric tag.
+     */
+    String getName();
+
+    /**
+     * Durably accept the batch, or throw to have it redelivered later.
+     */
+    void deliver(List<BookingEvent> events) throws Exception;
+}
@@ -0,0 +1,328 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Response.BookingResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes booking changes to the customer and worker of each booking over Server-Sent Events
+ * ({@code GET /api/bookings/stream}).
+ *
+ * Events are published after their transaction commits, numbered in commit order, and kept in
+ * a bounded replay buffer, so a client that reconnects with {@code Last-Event-ID} gets exactly
+ * the changes it missed. If those are no longer buffered (or the server restarted) it gets a
+ * {@code reset} event instead and reloads its list once.
+ *
+ * Publishing never blocks on a client: every connection has a bounded queue drained by the
+ * {@code bookingStreamExecutor}. A client that falls a full queue behind is disconnected, and
+ * its reconnect resumes from the replay buffer. Heartbeat comments keep idle connections open
+ * through proxies and find dead ones.
+ */
+@Component
+public class BookingEventStream {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingEventStream.class);
+
+    public static final String BOOKING_EVENT = "booking";
+    public static final String RESET_EVENT = "reset";
+
+    // Event ids are "<epoch>-<sequence>"; the epoch tells ids of an earlier process apart
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    @Autowired
+    @Qualifier("bookingStreamExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    private final Duration timeout;
+    private final int bufferSize;
+    private final int replaySize;
+    private final int maxConnectionsPerUser;
+    private final long heartbeatSeconds;
+    private ScheduledExecutorService heartbeat;
+
+    // user id -> open connections
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // most recent events, oldest first; guarded by itself, as is nextSequence
+    private final Deque<Event> replay = new ArrayDeque<>();
+    private long nextSequence = 1;
+
+    public BookingEventStream(@Value("${app.bookings.stream.timeout-minutes:30}") long timeoutMinutes,
+                              @Value("${app.bookings.stream.heartbeat-seconds:15}") long heartbeatSeconds,
+                              @Value("${app.bookings.stream.buffer-size:64}") int bufferSize,
+                              @Value("${app.bookings.stream.replay-size:1000}") int replaySize,
+                              @Value("${app.bookings.stream.max-connections-per-user:5}") int maxConnectionsPerUser) {
+        if (bufferSize <= 0 || replaySize <= 0 || maxConnectionsPerUser <= 0 || heartbeatSeconds <= 0) {
+            throw new IllegalArgumentException("Booking stream sizes and heartbeat must be positive");
+        }
+        this.timeout = Duration.ofMinutes(timeoutMinutes);
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.heartbeatSeconds = heartbeatSeconds;
+    }
+
+    @PostConstruct
+    public void startHeartbeat() {
+        heartbeat = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("booking-stream-heartbeat").daemon().factory());
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Open a stream for the user. With a {@code lastEventId} from an earlier connection the
+     * missed events are sent first (or a {@code reset} if they are gone).
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        Set<Subscriber> connections = subscribers.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>());
+        // Registering and collecting the replay under the same lock as publish leaves no gap and no duplicate
+        synchronized (replay) {
+            List<SseEmitter.SseEventBuilder> missed = lastEventId == null || lastEventId.isBlank()
+                    ? List.of()
+                    : missedEvents(userId, lastEventId.trim());
+            if (missed.size() > bufferSize) {
+                missed = List.of(resetEvent());
+            }
+            missed.forEach(subscriber.queue::offer);
+            connections.add(subscriber);
+        }
+        if (connections.size() > maxConnectionsPerUser) {
+            // a reload loop or leaked tab; the oldest connection makes room
+            connections.stream().filter(other -> other != subscriber).findFirst().ifPresent(this::disconnect);
+        }
+        scheduleDrain(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Push a new or changed booking to its customer and worker once the current transaction commits.
+     */
+    public void publish(BookingResponse booking) {
+        publish(List.of(booking));
+    }
+
+    public void publish(Collection<BookingResponse> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        List<BookingResponse> toSend = List.copyOf(bookings);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishNow(toSend);
+                }
+            });
+        } else {
+            publishNow(toSend);
+        }
+    }
+
+    private void publishNow(List<BookingResponse> bookings) {
+        List<Subscriber> toDrain = new ArrayList<>();
+        Set<Subscriber> overflowed = new LinkedHashSet<>();
+        synchronized (replay) {
+            for (BookingResponse booking : bookings) {
+                Event event = new Event(nextSequence++, booking);
+                replay.addLast(event);
+                if (replay.size() > replaySize) {
+                    replay.removeFirst();
+                }
+                enqueue(booking.getCustomerId(), event, toDrain, overflowed);
+                if (!Objects.equals(booking.getWorkerId(), booking.getCustomerId())) {
+                    enqueue(booking.getWorkerId(), event, toDrain, overflowed);
+                }
+            }
+        }
+        // Too far behind: drop the connection; its reconnect replays what it missed
+        overflowed.forEach(this::disconnect);
+        toDrain.forEach(this::scheduleDrain);
+    }
+
+    private void enqueue(Long userId, Event event, List<Subscriber> toDrain, Set<Subscriber> overflowed) {
+        Set<Subscriber> connections = userId == null ? null : subscribers.get(userId);
+        if (connections == null) {
+            return;
+        }
+        for (Subscriber subscriber : connections) {
+            if (subscriber.queue.offer(bookingEvent(event))) {
+                toDrain.add(subscriber);
+            } else {
+                overflowed.add(subscriber);
+            }
+        }
+    }
+
+    // Caller holds the replay lock
+    private List<SseEmitter.SseEventBuilder> missedEvents(Long userId, String lastEventId) {
+        long lastSequence = parseSequence(lastEventId);
+        long oldestBuffered = replay.isEmpty() ? nextSequence : replay.peekFirst().sequence;
+        if (lastSequence < 0 || lastSequence >= nextSequence || lastSequence < oldestBuffered - 1) {
+            return List.of(resetEvent());
+        }
+        List<SseEmitter.SseEventBuilder> missed = new ArrayList<>();
+        for (Event event : replay) {
+            if (event.sequence > lastSequence && event.isFor(userId)) {
+                missed.add(bookingEvent(event));
+            }
+        }
+        return missed;
+    }
+
+    // -1 if the id is malformed or from another process
+    private long parseSequence(String lastEventId) {
+        int dash = lastEventId.indexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private SseEmitter.SseEventBuilder bookingEvent(Event event) {
+        return SseEmitter.event()
+                .id(epoch + "-" + event.sequence)
+                .name(BOOKING_EVENT)
+                .data(event.booking, MediaType.APPLICATION_JSON);
+    }
+
+    // Carries the id of the newest event, so the client resumes from here after reloading
+    private SseEmitter.SseEventBuilder resetEvent() {
+        return SseEmitter.event()
+                .id(epoch + "-" + (nextSequence - 1))
+                .name(RESET_EVENT)
+                .data("reload");
+    }
+
+    private void sendHeartbeats() {
+        for (Set<Subscriber> connections : subscribers.values()) {
+            for (Subscriber subscriber : connections) {
+                if (subscriber.queue.isEmpty() && subscriber.queue.offer(SseEmitter.event().comment("heartbeat"))) {
+                    scheduleDrain(subscriber);
+                }
+            }
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.closed || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> drain(subscriber));
+        } catch (TaskRejectedException e) {
+            subscriber.draining.set(false);
+            log.warn("Booking stream sender saturated, dropping a connection of user {}", subscriber.userId);
+            disconnect(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the client went away; the container reports it through onError/onCompletion as well
+            remove(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // an event may have been queued between the last poll and clearing the flag
+        if (!subscriber.closed && !subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscriber.queue.clear();
+        subscribers.computeIfPresent(subscriber.userId, (id, connections) -> {
+            connections.remove(subscriber);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (heartbeat != null) {
+            heartbeat.shutdownNow();
+        }
+        subscribers.values().forEach(connections -> connections.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private static final class Event {
+        final long sequence;
+        final BookingResponse booking;
+
+        Event(long sequence, BookingResponse booking) {
+            this.sequence = sequence;
+            this.booking = booking;
+        }
+
+        boolean isFor(Long userId) {
+            return userId.equals(booking.getCustomerId()) || userId.equals(booking.getWorkerId());
+        }
+    }
+
+    private static final class Subscriber {
+        final Long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(Long userId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> queue) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
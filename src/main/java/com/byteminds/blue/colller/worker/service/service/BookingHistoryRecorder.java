@@ -0,0 +1,430 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.models.BookingStatus;
+import com.byteminds.blue.colller.worker.service.models.BookingStatusHistory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records booking status changes into {@code booking_status_history} without adding an
+ * insert to the transition itself.
+ *
+ * Once the booking's transaction commits, entries go into a fixed-size ring buffer, and a
+ * single writer thread drains it in JDBC batches. Under load each batch grows to whatever
+ * queued up while the previous one was written, up to {@code batch-size}. When the buffer
+ * is full the caller writes its own entries instead, so an entry is never dropped for lack
+ * of room. {@code app.bookings.history.durability} picks what a crash may cost:
+ * <ul>
+ *   <li>{@code sync}: the insert joins the booking's transaction. Nothing is lost, at the price of the extra insert.</li>
+ *   <li>{@code async}: buffered entries not yet written are lost.</li>
+ *   <li>{@code async-wal} (default): entries are also appended and fsynced to a local file before the
+ *       request returns. They are replayed on the next start, and the file is emptied whenever the
+ *       writer catches up.</li>
+ * </ul>
+ */
+@Component
+public class BookingHistoryRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingHistoryRecorder.class);
+
+    public static final String BUFFERED = "booking.history.buffered";
+    public static final String OVERFLOWS = "booking.history.overflows";
+    public static final String FLUSH = "booking.history.flush";
+
+    private static final String INSERT = "INSERT INTO booking_status_history " +
+            "(entry_id, booking_id, from_status, to_status, changed_by_id, changed_by_name, changed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+
+    public enum Durability {
+        SYNC, ASYNC, ASYNC_WAL;
+
+        static Durability parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Durability durability;
+    private final int batchSize;
+    private final Path walPath;
+
+    private final BlockingQueue<BookingStatusHistory> buffer;
+    // The batch being inserted right now, so reads still see its entries
+    private volatile List<BookingStatusHistory> inFlight = List.of();
+    // Overflow entries whose insert failed; the writer retries them and keeps the write-ahead file until they are stored
+    private final Queue<BookingStatusHistory> unstored = new ConcurrentLinkedQueue<>();
+    // Guards the write-ahead file; entries enter the buffer (or unstored) under it too, so "both empty" means "file fully written"
+    private final ReentrantLock walLock = new ReentrantLock();
+    private FileChannel wal;
+    private Counter overflows;
+    private Timer flushTimer;
+    private Thread writer;
+    private volatile boolean running;
+
+    // The entity manager factory is injected only to order this after schema creation
+    public BookingHistoryRecorder(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                  EntityManagerFactory entityManagerFactory,
+                                  @Value("${app.bookings.history.durability:async-wal}") String durability,
+                                  @Value("${app.bookings.history.buffer-size:10000}") int bufferSize,
+                                  @Value("${app.bookings.history.batch-size:500}") int batchSize,
+                                  @Value("${app.bookings.history.wal-path:./data/history/booking-status-history.wal}") String walPath) {
+        if (bufferSize <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Booking history buffer and batch sizes must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.durability = Durability.parse(durability);
+        this.batchSize = batchSize;
+        this.walPath = Paths.get(walPath).toAbsolutePath().normalize();
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        overflows = Counter.builder(OVERFLOWS)
+                .description("History entries written by the caller because the buffer was full")
+                .register(meterRegistry);
+        if (durability == Durability.SYNC) {
+            return;
+        }
+        if (durability == Durability.ASYNC_WAL) {
+            Files.createDirectories(walPath.getParent());
+            wal = FileChannel.open(walPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            replayWal();
+        }
+        Gauge.builder(BUFFERED, buffer, BlockingQueue::size)
+                .description("History entries waiting for the background writer")
+                .register(meterRegistry);
+        flushTimer = Timer.builder(FLUSH)
+                .description("Time to insert one batch of history entries")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        running = true;
+        writer = Thread.ofPlatform().name("booking-history-writer").daemon().start(this::runWriter);
+        log.info("Booking status history recorder started in {} mode", durability);
+    }
+
+    /**
+     * Record one status change made by {@code actor} (null for a system change). Inside a
+     * transaction the entry is only kept if that transaction commits.
+     */
+    public void record(Long bookingId, BookingStatus from, BookingStatus to, UserIdentity actor) {
+        record(List.of(entry(bookingId, from, to, actor)));
+    }
+
+    public void record(List<BookingStatusHistory> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (durability == Durability.SYNC) {
+            insert(entries);
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entries);
+                }
+            });
+        } else {
+            enqueue(entries);
+        }
+    }
+
+    public static BookingStatusHistory entry(Long bookingId, BookingStatus from, BookingStatus to, UserIdentity actor) {
+        return new BookingStatusHistory(UUID.randomUUID().toString(), bookingId, from, to,
+                actor == null ? null : actor.getId(), actor == null ? null : actor.getName(), LocalDateTime.now());
+    }
+
+    /**
+     * Entries of the booking that are recorded but may not be in the table yet.
+     */
+    public List<BookingStatusHistory> pendingFor(Long bookingId) {
+        List<BookingStatusHistory> pending = new ArrayList<>();
+        // Entries only move buffer -> in flight -> table, and the writer publishes a batch as in flight before
+        // taking it out of the buffer, so reading in that order never misses one
+        for (BookingStatusHistory entry : unstored) {
+            if (entry.getBookingId().equals(bookingId)) {
+                pending.add(entry);
+            }
+        }
+        for (BookingStatusHistory entry : buffer) {
+            if (entry.getBookingId().equals(bookingId)) {
+                pending.add(entry);
+            }
+        }
+        for (BookingStatusHistory entry : inFlight) {
+            if (entry.getBookingId().equals(bookingId)) {
+                pending.add(entry);
+            }
+        }
+        return pending;
+    }
+
+    private void enqueue(List<BookingStatusHistory> entries) {
+        if (wal == null) {
+            List<BookingStatusHistory> overflow = offerAll(entries);
+            writeOverflow(overflow);
+            return;
+        }
+        walLock.lock();
+        try {
+            appendToWal(entries);
+            // Still under the lock, so the writer cannot empty the file before an overflow is stored
+            writeOverflow(offerAll(entries));
+        } finally {
+            walLock.unlock();
+        }
+    }
+
+    private List<BookingStatusHistory> offerAll(List<BookingStatusHistory> entries) {
+        List<BookingStatusHistory> overflow = new ArrayList<>();
+        for (BookingStatusHistory entry : entries) {
+            if (!buffer.offer(entry)) {
+                overflow.add(entry);
+            }
+        }
+        if (overflow.size() < entries.size()) {
+            LockSupport.unpark(writer);
+        }
+        return overflow;
+    }
+
+    private void writeOverflow(List<BookingStatusHistory> overflow) {
+        if (overflow.isEmpty()) {
+            return;
+        }
+        overflows.increment(overflow.size());
+        try {
+            insert(overflow);
+        } catch (DataAccessException e) {
+            // The booking change has committed already; failing the request now would not undo it
+            log.warn("Could not store {} booking history entries, the writer will retry them", overflow.size(), e);
+            unstored.addAll(overflow);
+        }
+    }
+
+    // Retry the overflow entries whose insert failed; true once none is left
+    private boolean storeUnstored() {
+        while (!unstored.isEmpty()) {
+            List<BookingStatusHistory> entries = unstored.stream().limit(batchSize).toList();
+            try {
+                // Part of a failed overflow insert may have been stored
+                insertMissing(entries);
+            } catch (DataAccessException e) {
+                log.warn("Retrying {} booking history entries failed", entries.size(), e);
+                return false;
+            }
+            unstored.removeAll(entries);
+        }
+        return true;
+    }
+
+    private void runWriter() {
+        List<BookingStatusHistory> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            if (buffer.isEmpty()) {
+                if (!unstored.isEmpty() && storeUnstored()) {
+                    truncateWalIfCaughtUp();
+                }
+                // Woken by enqueue, or after a second to retry whatever is still unstored
+                LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                continue;
+            }
+            // Copy the head of the buffer and publish it as in flight before taking it out, so an
+            // entry is always visible to pendingFor in one or the other (this is the only consumer)
+            for (BookingStatusHistory entry : buffer) {
+                batch.add(entry);
+                if (batch.size() == batchSize) {
+                    break;
+                }
+            }
+            inFlight = List.copyOf(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                buffer.poll();
+            }
+            boolean stored = flush(batch);
+            inFlight = List.of();
+            batch.clear();
+            if (stored && storeUnstored()) {
+                truncateWalIfCaughtUp();
+            }
+        }
+        // Last attempt at shutdown; in async-wal mode the write-ahead file still has whatever this misses
+        storeUnstored();
+    }
+
+    // Retry until the batch is stored; if the database stays down through shutdown, the write-ahead file still has it
+    private boolean flush(List<BookingStatusHistory> batch) {
+        long retryDelay = 100;
+        boolean retry = false;
+        while (true) {
+            try {
+                long start = System.nanoTime();
+                if (retry) {
+                    insertMissing(batch);
+                } else {
+                    insert(batch);
+                }
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return true;
+            } catch (DataAccessException e) {
+                if (!running) {
+                    log.error("Giving up on {} booking history entries at shutdown{}", batch.size(),
+                            wal == null ? "" : "; they will be replayed from " + walPath, e);
+                    return false;
+                }
+                log.warn("Writing {} booking history entries failed, retrying in {} ms", batch.size(), retryDelay, e);
+                try {
+                    Thread.sleep(retryDelay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+                // Part of the batch may have been stored before the failure
+                retry = true;
+            }
+        }
+    }
+
+    private void insert(List<BookingStatusHistory> entries) {
+        jdbcTemplate.batchUpdate(INSERT, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getEntryId());
+            ps.setLong(2, entry.getBookingId());
+            ps.setString(3, entry.getFromStatus() == null ? null : entry.getFromStatus().name());
+            ps.setString(4, entry.getToStatus().name());
+            ps.setObject(5, entry.getChangedById());
+            ps.setString(6, entry.getChangedByName());
+            ps.setTimestamp(7, Timestamp.valueOf(entry.getChangedAt()));
+        });
+    }
+
+    // Insert only the entries whose entry id isn't stored yet (retries and write-ahead replay)
+    private void insertMissing(List<BookingStatusHistory> entries) {
+        Set<String> stored = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT entry_id FROM booking_status_history WHERE entry_id IN ("
+                        + String.join(", ", Collections.nCopies(entries.size(), "?")) + ")",
+                String.class, entries.stream().map(BookingStatusHistory::getEntryId).toArray()));
+        List<BookingStatusHistory> missing = entries.stream()
+                .filter(entry -> !stored.contains(entry.getEntryId()))
+                .toList();
+        if (!missing.isEmpty()) {
+            insert(missing);
+        }
+    }
+
+    private void appendToWal(List<BookingStatusHistory> entries) {
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (BookingStatusHistory entry : entries) {
+                lines.append(objectMapper.writeValueAsString(entry)).append('\n');
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            wal.position(wal.size());
+            while (bytes.hasRemaining()) {
+                wal.write(bytes);
+            }
+            wal.force(false);
+        } catch (IOException e) {
+            // Still buffered, just without crash protection
+            log.error("Could not append {} booking history entries to {}", entries.size(), walPath, e);
+        }
+    }
+
+    private void truncateWalIfCaughtUp() {
+        if (wal == null) {
+            return;
+        }
+        walLock.lock();
+        try {
+            if (buffer.isEmpty() && unstored.isEmpty()) {
+                wal.truncate(0);
+            }
+        } catch (IOException e) {
+            log.warn("Could not truncate {}", walPath, e);
+        } finally {
+            walLock.unlock();
+        }
+    }
+
+    // Store whatever a previous run appended but never wrote, then start the file afresh
+    private void replayWal() throws IOException {
+        List<BookingStatusHistory> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(walPath, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                entries.add(objectMapper.readValue(line, BookingStatusHistory.class));
+            } catch (IOException e) {
+                // A torn last line from a crash mid-append; its change never returned to the caller
+                log.warn("Skipping unreadable booking history entry in {}", walPath);
+            }
+        }
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            insertMissing(entries.subList(from, Math.min(from + batchSize, entries.size())));
+        }
+        if (!entries.isEmpty()) {
+            log.info("Replayed {} booking history entries from {}", entries.size(), walPath);
+        }
+        wal.truncate(0);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException, IOException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        if (wal != null) {
+            wal.close();
+        }
+    }
+}
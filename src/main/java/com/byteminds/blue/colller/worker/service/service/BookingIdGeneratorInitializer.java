@@ -0,0 +1,49 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.models.Booking;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes sure the booking id generator row starts above every existing booking id.
+ *
+ * Bookings used to get AUTO_INCREMENT ids. The pooled table generator hands out the
+ * block ending at the stored value, so the row is set to at least
+ * {@code max(id) + allocation size + 1}. Runs once the entity manager factory exists
+ * (so the generator table has been created) and before any request is served.
+ */
+@Component
+public class BookingIdGeneratorInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingIdGeneratorInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Injected only to order this after schema creation
+    public BookingIdGeneratorInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignWithExistingRows() {
+        long floor = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM bookings", Long.class)
+                + Booking.ID_ALLOCATION_SIZE + 1;
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + Booking.ID_GENERATOR_TABLE + " WHERE sequence_name = ?",
+                Integer.class, Booking.ID_GENERATOR_KEY);
+        int updated = rows != null && rows > 0
+                ? jdbcTemplate.update(
+                        "UPDATE " + Booking.ID_GENERATOR_TABLE + " SET next_val = ? WHERE sequence_name = ? AND next_val < ?",
+                        floor, Booking.ID_GENERATOR_KEY, floor)
+                : jdbcTemplate.update(
+                        "INSERT INTO " + Booking.ID_GENERATOR_TABLE + " (sequence_name, next_val) VALUES (?, ?)",
+                        Booking.ID_GENERATOR_KEY, floor);
+        if (updated > 0) {
+            log.info("Booking id generator moved to {}", floor);
+        }
+    }
+}
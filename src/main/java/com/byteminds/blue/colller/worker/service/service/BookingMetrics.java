@@ -0,0 +1,46 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.models.BookingStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Booking status transition counters ({@code booking.status.transitions}, tagged
+ * {@code from} and {@code to}).
+ *
+ * Inside a transaction a transition is only counted once it commits, so rolled-back
+ * changes and schedule conflicts never show up as transitions.
+ */
+@Component
+public class BookingMetrics {
+
+    public static final String TRANSITIONS = "booking.status.transitions";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public void recordTransition(BookingStatus from, BookingStatus to, int count) {
+        if (count <= 0) {
+            return;
+        }
+        Counter counter = Counter.builder(TRANSITIONS)
+                .description("Booking status changes")
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .register(meterRegistry);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counter.increment(count);
+                }
+            });
+        } else {
+            counter.increment(count);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Response.BookingResponse;
+import com.byteminds.blue.colller.worker.service.models.BookingEvent;
+import com.byteminds.blue.colller.worker.service.models.BookingEventType;
+import com.byteminds.blue.colller.worker.service.models.BookingStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Appends booking lifecycle events to the {@code booking_events} outbox.
+ *
+ * Like the view projector, every method joins the caller's transaction (and refuses to run
+ * without one): an event is stored exactly when the booking change it describes commits,
+ * and the request never waits on the consumers. {@link BookingOutboxRelay} delivers them.
+ */
+@Component
+public class BookingOutbox {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Record a newly created booking (version 0).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCreated(BookingResponse booking) {
+        append(booking, 0L, BookingEventType.CREATED, null);
+    }
+
+    /**
+     * Record a status transition; {@code version} is the booking's version after it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onStatusChanged(BookingResponse booking, BookingStatus from, Long version) {
+        append(booking, version, BookingEventType.STATUS_CHANGED, from);
+    }
+
+    private void append(BookingResponse booking, Long version, BookingEventType type, BookingStatus from) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(booking);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize booking " + booking.getId(), e);
+        }
+        // persist, not a repository save: the row is new and the insert joins the transaction's JDBC batch
+        entityManager.persist(new BookingEvent(booking.getId(), version, type, from, booking.getStatus(),
+            payload, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,217 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.models.BookingEvent;
+import com.byteminds.blue.colller.worker.service.models.BookingEventType;
+import com.byteminds.blue.colller.worker.service.models.BookingStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the {@code booking_events} outbox into every {@link BookingEventSink}.
+ *
+ * Each round takes the oldest {@code batchSize} pending events, widens them to every pending
+ * event of the same bookings (so a booking's events are never split across rounds), hands
+ * that batch to each sink in booking-version order and only then stamps it published.
+ * A failing sink or a crash before the stamp means the whole batch is delivered again:
+ * at least once, never out of order per booking. Failures back off exponentially up to
+ * {@code max-backoff-seconds}; published rows are purged after {@code retention-hours}.
+ *
+ * Run the relay on one instance only ({@code app.bookings.outbox.relay.enabled}): two relays
+ * would deliver the same events twice and could interleave one booking's events.
+ */
+@Component
+@ConditionalOnProperty(name = "app.bookings.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingOutboxRelay.class);
+
+    public static final String LAG = "booking.outbox.lag";
+    public static final String DELIVERY_LAG = "booking.outbox.delivery.lag";
+    public static final String DELIVERED = "booking.outbox.delivered";
+    public static final String FAILURES = "booking.outbox.failures";
+
+    private static final String EVENT_COLUMNS = "id, booking_id, booking_version, event_type, from_status, to_status, " +
+            "payload, created_at";
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private static final RowMapper<BookingEvent> EVENT_MAPPER = (rs, row) -> {
+        BookingEvent event = new BookingEvent(rs.getLong("booking_id"), rs.getLong("booking_version"),
+                BookingEventType.valueOf(rs.getString("event_type")),
+                rs.getString("from_status") == null ? null : BookingStatus.valueOf(rs.getString("from_status")),
+                BookingStatus.valueOf(rs.getString("to_status")), rs.getString("payload"),
+                rs.getObject("created_at", LocalDateTime.class));
+        event.setId(rs.getLong("id"));
+        return event;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private List<BookingEventSink> sinks = Collections.emptyList();
+
+    private final long pollIntervalMillis;
+    private final int batchSize;
+    private final long maxBackoffMillis;
+    private final Duration retention;
+
+    // Age of the oldest undelivered event as of the last round
+    private final AtomicLong lagMillis = new AtomicLong();
+    private Timer deliveryLag;
+    private ScheduledExecutorService scheduler;
+    // Only touched by the relay thread
+    private int consecutiveFailures;
+    private LocalDateTime nextPurge = LocalDateTime.now();
+
+    public BookingOutboxRelay(@Value("${app.bookings.outbox.relay.poll-interval-ms:500}") long pollIntervalMillis,
+                              @Value("${app.bookings.outbox.relay.batch-size:200}") int batchSize,
+                              @Value("${app.bookings.outbox.relay.max-backoff-seconds:30}") long maxBackoffSeconds,
+                              @Value("${app.bookings.outbox.retention-hours:168}") long retentionHours) {
+        if (pollIntervalMillis <= 0 || batchSize <= 0 || maxBackoffSeconds <= 0 || retentionHours <= 0) {
+            throw new IllegalArgumentException("Booking outbox relay settings must be positive");
+        }
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.batchSize = batchSize;
+        this.maxBackoffMillis = TimeUnit.SECONDS.toMillis(maxBackoffSeconds);
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    // Start once the schema exists and the application is serving
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (sinks.isEmpty()) {
+            log.warn("No booking event sinks configured; booking_events rows will accumulate undelivered");
+            return;
+        }
+        Gauge.builder(LAG, lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest booking event not yet delivered")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        deliveryLag = Timer.builder(DELIVERY_LAG)
+                .description("Time from a booking change to its event being delivered to every sink")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("booking-outbox-relay").daemon().factory());
+        scheduler.execute(this::poll);
+        log.info("Booking outbox relay started with sinks {}", sinks.stream().map(BookingEventSink::getName).toList());
+    }
+
+    private void poll() {
+        long delay = pollIntervalMillis;
+        try {
+            // A full round means more may be waiting, so keep going until caught up
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed >= batchSize && !scheduler.isShutdown());
+            consecutiveFailures = 0;
+            purgeIfDue();
+        } catch (RuntimeException e) {
+            consecutiveFailures++;
+            delay = Math.min(pollIntervalMillis << Math.min(consecutiveFailures, 20), maxBackoffMillis);
+            log.warn("Booking outbox relay round failed ({} in a row), retrying in {} ms", consecutiveFailures, delay, e);
+        }
+        if (!scheduler.isShutdown()) {
+            scheduler.schedule(this::poll, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Deliver one round and mark it published; returns how many of the oldest pending events it started from
+    private int relayBatch() {
+        List<Long> oldest = jdbcTemplate.queryForList(
+                "SELECT booking_id FROM booking_events WHERE published_at IS NULL ORDER BY id LIMIT ?",
+                Long.class, batchSize);
+        if (oldest.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        Set<Long> bookingIds = new LinkedHashSet<>(oldest);
+        List<BookingEvent> events = jdbcTemplate.query(
+                "SELECT " + EVENT_COLUMNS + " FROM booking_events WHERE published_at IS NULL AND booking_id IN ("
+                        + placeholders(bookingIds) + ") ORDER BY booking_id, booking_version, id",
+                EVENT_MAPPER, bookingIds.toArray());
+        events.stream().map(BookingEvent::getCreatedAt).min(LocalDateTime::compareTo).ifPresent(createdAt ->
+                lagMillis.set(Math.max(0, Duration.between(createdAt, LocalDateTime.now()).toMillis())));
+
+        for (BookingEventSink sink : sinks) {
+            try {
+                sink.deliver(events);
+            } catch (Exception e) {
+                counter(FAILURES, sink).increment();
+                throw new IllegalStateException("Booking event sink " + sink.getName() + " failed", e);
+            }
+            counter(DELIVERED, sink).increment(events.size());
+        }
+
+        List<Object> args = new ArrayList<>();
+        LocalDateTime publishedAt = LocalDateTime.now();
+        args.add(publishedAt);
+        events.forEach(event -> args.add(event.getId()));
+        jdbcTemplate.update("UPDATE booking_events SET published_at = ? WHERE id IN (" + placeholders(events) + ")",
+                args.toArray());
+        for (BookingEvent event : events) {
+            deliveryLag.record(Math.max(0, Duration.between(event.getCreatedAt(), publishedAt).toNanos()),
+                    TimeUnit.NANOSECONDS);
+        }
+        return oldest.size();
+    }
+
+    private void purgeIfDue() {
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(nextPurge)) {
+            return;
+        }
+        nextPurge = now.plus(PURGE_INTERVAL);
+        int purged = jdbcTemplate.update("DELETE FROM booking_events WHERE published_at < ?", now.minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} delivered booking events older than {}", purged, retention);
+        }
+    }
+
+    private Counter counter(String name, BookingEventSink sink) {
+        return Counter.builder(name)
+                .tag("sink", sink.getName())
+                .register(meterRegistry);
+    }
+
+    private static String placeholders(Collection<?> values) {
+        return String.join(", ", Collections.nCopies(values.size(), "?"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -1,40 +1,119 @@
 package com.byteminds.blue.colller.worker.service.service;
 
 import com.byteminds.blue.colller.worker.service.Repository.BookingRepository;
+import com.byteminds.blue.colller.worker.service.Repository.BookingStateView;
+import com.byteminds.blue.colller.worker.service.Repository.BookingStatusHistoryRepository;
+import com.byteminds.blue.colller.worker.service.Repository.BookingViewRepository;
+import com.byteminds.blue.colller.worker.service.Repository.LockedBookingView;
 import com.byteminds.blue.colller.worker.service.Repository.UsersRepository;
 import com.byteminds.blue.colller.worker.service.Repository.WorkRepository;
+import com.byteminds.blue.colller.worker.service.Response.BatchBookingItemResponse;
+import com.byteminds.blue.colller.worker.service.Response.BatchBookingResponse;
+import com.byteminds.blue.colller.worker.service.Response.BookingPageResponse;
 import com.byteminds.blue.colller.worker.service.Response.BookingResponse;
+import com.byteminds.blue.colller.worker.service.Response.BookingStatusHistoryResponse;
+import com.byteminds.blue.colller.worker.service.Response.BulkStatusResponse;
 import com.byteminds.blue.colller.worker.service.models.Booking;
 import com.byteminds.blue.colller.worker.service.models.BookingStatus;
+import com.byteminds.blue.colller.worker.service.models.BookingStatusHistory;
+import com.byteminds.blue.colller.worker.service.models.BookingView;
 import com.byteminds.blue.colller.worker.service.models.Users;
 import com.byteminds.blue.colller.worker.service.models.Work;
 import com.byteminds.blue.colller.worker.service.request.BookingRequest;
+import com.byteminds.blue.colller.worker.service.request.BookingSortField;
+import com.byteminds.blue.colller.worker.service.request.StreamFormat;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "booking.service", histogram = true)
 public class BookingService {
     
     @Autowired
     private BookingRepository bookingRepository;
     
+    @Autowired
+    private BookingViewRepository bookingViewRepository;
+    
+    @Autowired
+    private BookingViewProjector bookingViewProjector;
+    
+    @Autowired
+    private WorkerScheduleIndex workerScheduleIndex;
+    
+    @Autowired
+    private BookingMetrics bookingMetrics;
+    
+    @Autowired
+    private BookingEventStream bookingEventStream;
+    
+    @Autowired
+    private BookingOutbox bookingOutbox;
+    
+    @Autowired
+    private BookingHistoryRecorder bookingHistoryRecorder;
+    
+    @Autowired
+    private CollectionVersions collectionVersions;
+    
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+    
+    @Autowired
+    private BookingStatusHistoryRepository bookingStatusHistoryRepository;
+    
     @Autowired
     private UsersRepository usersRepository;
     
     @Autowired
     private WorkRepository workRepository;
     
-    // Create a new booking
-    public BookingResponse createBooking(BookingRequest request, Long customerId) throws Exception {
-        // Validate customer exists
-        Optional<Users> customerOpt = usersRepository.findById(customerId);
-        if (customerOpt.isEmpty()) {
-            throw new Exception("Customer not found");
-        }
+    @Value("${app.bookings.page.default-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${app.bookings.page.max-size:100}")
+    private int maxPageSize;
+    
+    @Value("${app.bookings.batch.max-size:100}")
+    private int maxBatchSize;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Create a new booking (and its booking_view row, in the same transaction)
+    @Transactional(rollbackFor = Exception.class)
+    public BookingResponse createBooking(BookingRequest request, UserIdentity customerIdentity) throws Exception {
+        // The customer was already resolved (and cached) from the JWT, so a reference is enough
+        Users customer = usersRepository.getReferenceById(customerIdentity.getId());
         
         // Validate worker exists
         Optional<Users> workerOpt = usersRepository.findById(request.getWorkerId());
@@ -48,112 +127,394 @@ public class BookingService {
             throw new Exception("Work/Service not found");
         }
         
-        Users customer = customerOpt.get();
         Users worker = workerOpt.get();
         Work work = workOpt.get();
         
-        // Create booking
-        Booking booking = new Booking(
-            customer, worker, work, 
-            request.getDescription(),
-            request.getScheduledDate(),
-            request.getCustomerAddress()
-        );
+        // Reject times that clash with the worker's confirmed bookings
+        if (!isWorkerFree(worker, work, request.getScheduledDate())) {
+            throw new Exception("Worker is already booked at that time");
+        }
         
-        booking.setCustomerPhone(request.getCustomerPhone());
-        booking.setSpecialInstructions(request.getSpecialInstructions());
-        booking.setEstimatedDurationHours(work.getEstimatedTimeHours());
-        booking.setTotalAmount(work.getCharges());
+        // Create booking
+        Booking booking = newBooking(request, customer, worker, work);
         
         Booking savedBooking = bookingRepository.save(booking);
         
-        return convertToResponse(savedBooking);
+        // Take the name from the identity so the customer proxy is never initialized
+        bookingViewProjector.onCreated(savedBooking, customerIdentity.getName(), worker.getName(), work);
+        BookingResponse response = convertToResponse(savedBooking, customerIdentity.getName());
+        bookingOutbox.onCreated(response);
+        bookingHistoryRecorder.record(response.getId(), null, response.getStatus(), customerIdentity);
+        collectionVersions.bookingChanged(response.getCustomerId(), response.getWorkerId());
+        bookingEventStream.publish(response);
+        return response;
+    }
+    
+    // Create many bookings at once: one IN query per entity type, then every insert in one JDBC batch.
+    // Items that fail validation are reported individually and don't stop the rest.
+    @Transactional
+    public BatchBookingResponse createBookings(List<BookingRequest> requests, UserIdentity customerIdentity) {
+        if (requests.isEmpty() || requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("A batch must hold between 1 and " + maxBatchSize + " bookings");
+        }
+        Users customer = usersRepository.getReferenceById(customerIdentity.getId());
+        
+        Map<Long, Users> workers = usersRepository.findAllById(idsOf(requests, BookingRequest::getWorkerId)).stream()
+            .collect(Collectors.toMap(Users::getId, Function.identity()));
+        Map<Long, Work> works = workRepository.findAllById(idsOf(requests, BookingRequest::getWorkId)).stream()
+            .collect(Collectors.toMap(Work::getId, Function.identity()));
+        
+        // Let the whole batch (bookings and their booking_view rows) go out as one statement per table
+        entityManager.unwrap(Session.class).setJdbcBatchSize(requests.size());
+        
+        List<BatchBookingItemResponse> results = new ArrayList<>();
+        List<Booking> created = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequest request = requests.get(i);
+            Users worker = request.getWorkerId() == null ? null : workers.get(request.getWorkerId());
+            Work work = request.getWorkId() == null ? null : works.get(request.getWorkId());
+            String missingField = missingRequiredField(request);
+            if (missingField != null) {
+                results.add(BatchBookingItemResponse.failed(i, missingField + " is required"));
+            } else if (worker == null) {
+                results.add(BatchBookingItemResponse.failed(i, "Worker not found"));
+            } else if (work == null) {
+                results.add(BatchBookingItemResponse.failed(i, "Work/Service not found"));
+            } else if (!isWorkerFree(worker, work, request.getScheduledDate())) {
+                results.add(BatchBookingItemResponse.failed(i, "Worker is already booked at that time"));
+            } else {
+                // The table id generator assigns ids on persist, without an INSERT per row
+                Booking booking = bookingRepository.save(newBooking(request, customer, worker, work));
+                bookingViewProjector.onCreated(booking, customerIdentity.getName(), worker.getName(), work);
+                created.add(booking);
+                results.add(null);
+            }
+        }
+        entityManager.flush();
+        
+        Iterator<Booking> createdBookings = created.iterator();
+        List<BookingResponse> createdResponses = new ArrayList<>();
+        List<BookingStatusHistory> history = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                BookingResponse response = convertToResponse(createdBookings.next(), customerIdentity.getName());
+                createdResponses.add(response);
+                bookingOutbox.onCreated(response);
+                history.add(BookingHistoryRecorder.entry(response.getId(), null, response.getStatus(), customerIdentity));
+                results.set(i, BatchBookingItemResponse.created(i, response));
+            }
+        }
+        bookingHistoryRecorder.record(history);
+        collectionVersions.bookingsChanged(usersOf(createdResponses));
+        bookingEventStream.publish(createdResponses);
+        return new BatchBookingResponse(results);
     }
     
     // Get all bookings
+    @Transactional(readOnly = true)
     public List<BookingResponse> getAllBookings() {
-        return bookingRepository.findAll().stream()
-            .map(this::convertToResponse)
-            .collect(Collectors.toList());
+        return bookingViewRepository.findAllResponses();
+    }
+    
+    // Get all bookings as a body written while the rows are fetched
+    public StreamingResponseBody streamAllBookings(StreamFormat format) {
+        return jsonStreamWriter.write(format, bookingViewRepository::streamAllResponses);
     }
     
     // Get booking by ID
+    @Transactional(readOnly = true)
     public Optional<BookingResponse> getBookingById(Long id) {
-        return bookingRepository.findById(id)
-            .map(this::convertToResponse);
+        return bookingViewRepository.findResponseById(id);
     }
     
     // Get bookings by customer ID
+    @Transactional(readOnly = true)
     public List<BookingResponse> getBookingsByCustomerId(Long customerId) {
-        return bookingRepository.findByCustomerId(customerId).stream()
-            .map(this::convertToResponse)
-            .collect(Collectors.toList());
+        return bookingViewRepository.findResponsesByCustomerId(customerId);
     }
     
     // Get bookings by worker ID
+    @Transactional(readOnly = true)
     public List<BookingResponse> getBookingsByWorkerId(Long workerId) {
-        return bookingRepository.findByWorkerId(workerId).stream()
-            .map(this::convertToResponse)
+        return bookingViewRepository.findResponsesByWorkerId(workerId);
+    }
+    
+    // Get one keyset-paginated page of all bookings
+    @Transactional(readOnly = true)
+    public BookingPageResponse getAllBookingsPage(BookingSortField sortField, Sort.Direction direction,
+                                                  String cursor, Integer size) {
+        return getBookingsPage(Specification.unrestricted(), sortField, direction, cursor, size);
+    }
+    
+    // Get one keyset-paginated page of a customer's bookings
+    @Transactional(readOnly = true)
+    public BookingPageResponse getBookingsPageByCustomerId(Long customerId, BookingSortField sortField,
+                                                           Sort.Direction direction, String cursor, Integer size) {
+        return getBookingsPage(BookingViewRepository.hasCustomerId(customerId), sortField, direction, cursor, size);
+    }
+    
+    // Get one keyset-paginated page of a worker's bookings
+    @Transactional(readOnly = true)
+    public BookingPageResponse getBookingsPageByWorkerId(Long workerId, BookingSortField sortField,
+                                                         Sort.Direction direction, String cursor, Integer size) {
+        return getBookingsPage(BookingViewRepository.hasWorkerId(workerId), sortField, direction, cursor, size);
+    }
+    
+    // Seek to the cursor on (sortField, id) and read one page, so every page costs the same
+    private BookingPageResponse getBookingsPage(Specification<BookingView> filter, BookingSortField sortField,
+                                                Sort.Direction direction, String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : size;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        Sort sort = Sort.by(direction, sortField.getProperty()).and(Sort.by(direction, "id"));
+        ScrollPosition position = cursor == null || cursor.isBlank()
+            ? ScrollPosition.keyset()
+            : BookingCursor.decode(cursor, sortField, direction);
+        
+        // booking_view already holds every response column, so the page is a single indexed read
+        Window<BookingView> window = bookingViewRepository.findBy(filter,
+            query -> query.sortBy(sort).limit(pageSize).scroll(position));
+        
+        List<BookingResponse> content = window.getContent().stream()
+            .map(BookingViewProjector::toResponse)
             .collect(Collectors.toList());
+        String nextCursor = window.hasNext() && !window.isEmpty()
+            ? BookingCursor.encode(sortField, direction, window.getContent().get(window.size() - 1))
+            : null;
+        return new BookingPageResponse(content, nextCursor != null, nextCursor);
+    }
+    
+    // Update booking status (booking_view follows in the same transaction).
+    // One read fetches the status and version from bookings together with the booking_view row for the response,
+    // then the booking is changed by one compare-and-set UPDATE instead of a locked read: if another transition
+    // got there first, nothing is written and the caller gets a conflict.
+    @Transactional(rollbackFor = Exception.class)
+    public BookingResponse updateBookingStatus(Long bookingId, BookingStatus status, UserIdentity actor) throws Exception {
+        BookingStateView state = bookingRepository.findStateById(bookingId)
+            .orElseThrow(() -> new Exception("Booking not found"));
+        BookingStatus previous = state.getStatus();
+        if (!previous.canTransitionTo(status)) {
+            throw new Exception("A " + previous + " booking cannot be moved to " + status);
+        }
+        
+        if (!updateSchedule(state.getId(), state.getWorkerId(), state.getScheduledDate(),
+                state.getEstimatedDurationHours(), status)) {
+            throw new Exception("Worker is already booked at that time");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (bookingRepository.compareAndSetStatus(bookingId, previous, state.getVersion(), status, now) == 0) {
+            // Rolling back also hands the schedule reservation above back
+            throw new ObjectOptimisticLockingFailureException(Booking.class, bookingId);
+        }
+        long version = state.getVersion() + 1;
+        bookingViewProjector.onStatusChanged(bookingId, status, version, now);
+        bookingMetrics.recordTransition(previous, status, 1);
+        
+        // The view row read above plus the columns just written is the response; no need to read it back
+        BookingResponse response = BookingViewProjector.toResponse(state.getCurrent());
+        response.setStatus(status);
+        response.setUpdatedAt(now);
+        bookingOutbox.onStatusChanged(response, previous, version);
+        bookingHistoryRecorder.record(bookingId, previous, status, actor);
+        collectionVersions.bookingChanged(response.getCustomerId(), response.getWorkerId());
+        bookingEventStream.publish(response);
+        return response;
     }
     
-    // Update booking status
-    public BookingResponse updateBookingStatus(Long bookingId, BookingStatus status) throws Exception {
-        Optional<Booking> bookingOpt = bookingRepository.findById(bookingId);
-        if (bookingOpt.isEmpty()) {
-            throw new Exception("Booking not found");
+    // Move many bookings to a status with one locking SELECT and one conditional UPDATE, without loading entities.
+    // Ids that don't exist, aren't in an allowed predecessor status or clash with the worker's schedule are rejected.
+    @Transactional
+    public BulkStatusResponse updateBookingStatuses(List<Long> bookingIds, BookingStatus status, UserIdentity actor) {
+        Set<Long> ids = bookingIds.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty() || ids.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Between 1 and " + maxBatchSize + " booking ids are required");
         }
         
-        Booking booking = bookingOpt.get();
-        booking.setStatus(status);
+        Set<BookingStatus> predecessors = status.allowedPredecessors();
+        List<Long> transitioned = new ArrayList<>();
+        Map<Long, LockedBookingView> lockedById = new HashMap<>();
+        Map<BookingStatus, Integer> transitionedFrom = new EnumMap<>(BookingStatus.class);
+        if (!predecessors.isEmpty()) {
+            List<String> predecessorNames = predecessors.stream().map(Enum::name).collect(Collectors.toList());
+            // Row locks keep the selected bookings in their status until the UPDATE below commits
+            for (LockedBookingView slot : bookingRepository.lockByIdInAndStatusIn(ids, predecessorNames)) {
+                if (updateSchedule(slot.getId(), slot.getWorkerId(), slot.getScheduledDate(),
+                        slot.getEstimatedDurationHours(), status)) {
+                    transitioned.add(slot.getId());
+                    lockedById.put(slot.getId(), slot);
+                    transitionedFrom.merge(BookingStatus.valueOf(slot.getStatus()), 1, Integer::sum);
+                }
+            }
+        }
         
-        Booking updatedBooking = bookingRepository.save(booking);
-        return convertToResponse(updatedBooking);
+        if (!transitioned.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            bookingRepository.updateStatusWhereStatusIn(transitioned, status, predecessors, now);
+            bookingViewProjector.onStatusChanged(transitioned, status, now);
+            transitionedFrom.forEach((from, count) -> bookingMetrics.recordTransition(from, status, count));
+            List<BookingResponse> responses = bookingViewRepository.findResponsesByIdIn(transitioned);
+            List<BookingStatusHistory> history = new ArrayList<>();
+            for (BookingResponse response : responses) {
+                LockedBookingView locked = lockedById.get(response.getId());
+                BookingStatus from = BookingStatus.valueOf(locked.getStatus());
+                bookingOutbox.onStatusChanged(response, from, locked.getVersion() + 1);
+                history.add(BookingHistoryRecorder.entry(response.getId(), from, status, actor));
+            }
+            bookingHistoryRecorder.record(history);
+            collectionVersions.bookingsChanged(usersOf(responses));
+            bookingEventStream.publish(responses);
+        }
+        
+        List<Long> rejected = new ArrayList<>(ids);
+        rejected.removeAll(new HashSet<>(transitioned));
+        return new BulkStatusResponse(status, transitioned, rejected);
     }
     
     // Cancel booking
-    public BookingResponse cancelBooking(Long bookingId) throws Exception {
-        return updateBookingStatus(bookingId, BookingStatus.CANCELLED);
+    // (the shortcuts open the transaction themselves: updateBookingStatus is called on this, not through the proxy)
+    @Transactional(rollbackFor = Exception.class)
+    public BookingResponse cancelBooking(Long bookingId, UserIdentity actor) throws Exception {
+        return updateBookingStatus(bookingId, BookingStatus.CANCELLED, actor);
     }
     
     // Accept booking (for workers)
-    public BookingResponse acceptBooking(Long bookingId) throws Exception {
-        return updateBookingStatus(bookingId, BookingStatus.CONFIRMED);
+    @Transactional(rollbackFor = Exception.class)
+    public BookingResponse acceptBooking(Long bookingId, UserIdentity actor) throws Exception {
+        return updateBookingStatus(bookingId, BookingStatus.CONFIRMED, actor);
     }
     
     // Reject booking (for workers)
-    public BookingResponse rejectBooking(Long bookingId) throws Exception {
-        return updateBookingStatus(bookingId, BookingStatus.REJECTED);
+    @Transactional(rollbackFor = Exception.class)
+    public BookingResponse rejectBooking(Long bookingId, UserIdentity actor) throws Exception {
+        return updateBookingStatus(bookingId, BookingStatus.REJECTED, actor);
     }
     
     // Start work
-    public BookingResponse startWork(Long bookingId) throws Exception {
-        return updateBookingStatus(bookingId, BookingStatus.IN_PROGRESS);
+    @Transactional(rollbackFor = Exception.class)
+    public BookingResponse startWork(Long bookingId, UserIdentity actor) throws Exception {
+        return updateBookingStatus(bookingId, BookingStatus.IN_PROGRESS, actor);
     }
     
     // Complete work
-    public BookingResponse completeWork(Long bookingId) throws Exception {
-        return updateBookingStatus(bookingId, BookingStatus.COMPLETED);
+    @Transactional(rollbackFor = Exception.class)
+    public BookingResponse completeWork(Long bookingId, UserIdentity actor) throws Exception {
+        return updateBookingStatus(bookingId, BookingStatus.COMPLETED, actor);
+    }
+    
+    // Status history of a booking, oldest change first, including changes the background writer hasn't stored yet.
+    // Empty if the booking never existed; the history of a deleted booking is kept.
+    public Optional<List<BookingStatusHistoryResponse>> getBookingHistory(Long bookingId) {
+        List<BookingStatusHistory> pending = bookingHistoryRecorder.pendingFor(bookingId);
+        List<BookingStatusHistory> history = new ArrayList<>(bookingStatusHistoryRepository.findByBookingId(bookingId));
+        Set<String> stored = history.stream().map(BookingStatusHistory::getEntryId).collect(Collectors.toSet());
+        for (BookingStatusHistory entry : pending) {
+            if (stored.add(entry.getEntryId())) {
+                history.add(entry);
+            }
+        }
+        if (history.isEmpty() && !bookingViewRepository.existsById(bookingId)) {
+            return Optional.empty();
+        }
+        return Optional.of(history.stream()
+            .sorted(Comparator.comparing(BookingStatusHistory::getChangedAt))
+            .map(entry -> new BookingStatusHistoryResponse(entry.getFromStatus(), entry.getToStatus(),
+                entry.getChangedById(), entry.getChangedByName(), entry.getChangedAt()))
+            .collect(Collectors.toList()));
+    }
+    
+    // Open a live stream of the user's booking changes; lastEventId resumes after a reconnect
+    public SseEmitter streamBookingChanges(Long userId, String lastEventId) {
+        return bookingEventStream.subscribe(userId, lastEventId);
     }
     
     // Get pending bookings for worker
+    @Transactional(readOnly = true)
     public List<BookingResponse> getPendingBookingsForWorker(Long workerId) {
-        return bookingRepository.findPendingBookingsForWorker(workerId).stream()
-            .map(this::convertToResponse)
-            .collect(Collectors.toList());
+        return bookingViewRepository.findPendingResponsesForWorker(workerId);
     }
     
     // Delete booking
+    @Transactional
     public void deleteBooking(Long bookingId) {
+        bookingViewRepository.findById(bookingId)
+            .ifPresent(view -> collectionVersions.bookingChanged(view.getCustomerId(), view.getWorkerId()));
+        bookingViewProjector.onDeleted(bookingId);
         bookingRepository.deleteById(bookingId);
+        workerScheduleIndex.release(bookingId);
+    }
+    
+    // A confirmed or running booking holds its slot in the worker's schedule; anything else frees it.
+    // False if the slot is taken by another booking.
+    private boolean updateSchedule(Long bookingId, Long workerId, LocalDateTime scheduledDate,
+                                   Double estimatedDurationHours, BookingStatus status) {
+        if (WorkerScheduleIndex.BLOCKING_STATUSES.contains(status) && scheduledDate != null) {
+            LocalDateTime end = scheduledDate.plus(workerScheduleIndex.durationOf(estimatedDurationHours));
+            return workerScheduleIndex.reserve(workerId, bookingId, scheduledDate, end);
+        }
+        workerScheduleIndex.release(bookingId);
+        return true;
+    }
+    
+    // Whether the worker has no confirmed booking overlapping the work's duration from the given start
+    private boolean isWorkerFree(Users worker, Work work, LocalDateTime scheduledDate) {
+        if (scheduledDate == null) {
+            return true;
+        }
+        LocalDateTime end = scheduledDate.plus(workerScheduleIndex.durationOf(work.getEstimatedTimeHours()));
+        return workerScheduleIndex.isFree(worker.getId(), scheduledDate, end, null);
+    }
+    
+    // Build a new (unsaved) booking, priced and sized from the work
+    private Booking newBooking(BookingRequest request, Users customer, Users worker, Work work) {
+        Booking booking = new Booking(
+            customer, worker, work, 
+            request.getDescription(),
+            request.getScheduledDate(),
+            request.getCustomerAddress()
+        );
+        
+        booking.setCustomerPhone(request.getCustomerPhone());
+        booking.setSpecialInstructions(request.getSpecialInstructions());
+        booking.setEstimatedDurationHours(work.getEstimatedTimeHours());
+        booking.setTotalAmount(work.getCharges());
+        return booking;
+    }
+    
+    // First non-null column the request leaves empty; caught per item, before it can fail the batch's flush
+    private static String missingRequiredField(BookingRequest request) {
+        if (request.getDescription() == null || request.getDescription().isBlank()) {
+            return "description";
+        }
+        if (request.getScheduledDate() == null) {
+            return "scheduledDate";
+        }
+        if (request.getCustomerAddress() == null || request.getCustomerAddress().isBlank()) {
+            return "customerAddress";
+        }
+        return null;
+    }
+    
+    private static Set<Long> idsOf(List<BookingRequest> requests, Function<BookingRequest, Long> id) {
+        return requests.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+    
+    // Customers and workers whose booking lists contain these bookings
+    private static Set<Long> usersOf(List<BookingResponse> bookings) {
+        Set<Long> userIds = new HashSet<>();
+        for (BookingResponse booking : bookings) {
+            userIds.add(booking.getCustomerId());
+            userIds.add(booking.getWorkerId());
+        }
+        return userIds;
     }
     
-    // Convert Booking entity to BookingResponse DTO
-    private BookingResponse convertToResponse(Booking booking) {
+    // Convert Booking entity to BookingResponse DTO (package-private for BookingServiceBenchmark)
+    BookingResponse convertToResponse(Booking booking, String customerName) {
         BookingResponse response = new BookingResponse();
         response.setId(booking.getId());
         response.setCustomerId(booking.getCustomer().getId());
-        response.setCustomerName(booking.getCustomer().getName());
+        response.setCustomerName(customerName);
         response.setWorkerId(booking.getWorker().getId());
         response.setWorkerName(booking.getWorker().getName());
         response.setWorkId(booking.getWork().getId());
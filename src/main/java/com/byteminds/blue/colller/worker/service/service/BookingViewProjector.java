@@ -0,0 +1,138 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Repository.BookingRepository;
+import com.byteminds.blue.colller.worker.service.Repository.BookingViewRepository;
+import com.byteminds.blue.colller.worker.service.Response.BookingResponse;
+import com.byteminds.blue.colller.worker.service.models.Booking;
+import com.byteminds.blue.colller.worker.service.models.BookingStatus;
+import com.byteminds.blue.colller.worker.service.models.BookingView;
+import com.byteminds.blue.colller.worker.service.models.Work;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Maintains the {@link BookingView} read model.
+ *
+ * Every write method joins the caller's transaction (and refuses to run without one),
+ * so the projection commits or rolls back together with the booking change it mirrors.
+ */
+@Component
+public class BookingViewProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingViewProjector.class);
+
+    @Autowired
+    private BookingViewRepository bookingViewRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Add the view row of a newly created booking.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCreated(Booking booking, String customerName, String workerName, Work work) {
+        BookingView view = new BookingView();
+        view.setId(booking.getId());
+        view.setCustomerId(booking.getCustomer().getId());
+        view.setCustomerName(customerName);
+        view.setWorkerId(booking.getWorker().getId());
+        view.setWorkerName(workerName);
+        view.setWorkId(work.getId());
+        view.setWorkTitle(work.getTitle());
+        view.setWorkCategory(work.getCategory());
+        view.setDescription(booking.getDescription());
+        view.setScheduledDate(booking.getScheduledDate());
+        view.setEstimatedDurationHours(booking.getEstimatedDurationHours());
+        view.setTotalAmount(booking.getTotalAmount());
+        view.setStatus(booking.getStatus());
+        view.setCustomerAddress(booking.getCustomerAddress());
+        view.setCustomerPhone(booking.getCustomerPhone());
+        view.setSpecialInstructions(booking.getSpecialInstructions());
+        view.setVersion(booking.getVersion());
+        view.setCreatedAt(booking.getCreatedAt());
+        view.setUpdatedAt(booking.getUpdatedAt());
+        // persist rather than save: the id is assigned, so save() would SELECT first to decide insert vs merge
+        entityManager.persist(view);
+    }
+
+    /**
+     * Mirror a status transition, including the booking's new version.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onStatusChanged(Long bookingId, BookingStatus status, Long version, LocalDateTime updatedAt) {
+        bookingViewRepository.updateStatus(bookingId, status, version, updatedAt);
+    }
+
+    /**
+     * Mirror a bulk status transition.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onStatusChanged(Collection<Long> bookingIds, BookingStatus status, LocalDateTime updatedAt) {
+        if (!bookingIds.isEmpty()) {
+            bookingViewRepository.updateStatusByIdIn(bookingIds, status, updatedAt);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onDeleted(Long bookingId) {
+        bookingViewRepository.deleteByBookingId(bookingId);
+    }
+
+    /**
+     * Propagate a user's new name into the rows where they are the customer or the worker.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onUserRenamed(Long userId, String name) {
+        bookingViewRepository.updateCustomerName(userId, name);
+        bookingViewRepository.updateWorkerName(userId, name);
+    }
+
+    /**
+     * Throw the projection away and regenerate it from bookings, users and work. Every booking
+     * list may have changed, so cached ETags of all of them are invalidated once this commits.
+     */
+    @Transactional
+    public int rebuild() {
+        bookingViewRepository.deleteAllInBatch();
+        int rows = bookingViewRepository.insertAllFromBookings();
+        collectionVersions.allBookingsChanged();
+        log.info("Rebuilt booking_view with {} rows", rows);
+        return rows;
+    }
+
+    /**
+     * Backfill on startup when the projection is obviously out of step (e.g. the table was just created).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        if (bookingViewRepository.count() != bookingRepository.count()) {
+            rebuild();
+        }
+    }
+
+    static BookingResponse toResponse(BookingView view) {
+        return new BookingResponse(view.getId(), view.getCustomerId(), view.getCustomerName(),
+            view.getWorkerId(), view.getWorkerName(), view.getWorkId(), view.getWorkTitle(),
+            view.getDescription(), view.getScheduledDate(), view.getEstimatedDurationHours(),
+            view.getTotalAmount(), view.getStatus(), view.getCustomerAddress(), view.getCustomerPhone(),
+            view.getSpecialInstructions(), view.getCreatedAt(), view.getUpdatedAt());
+    }
+}
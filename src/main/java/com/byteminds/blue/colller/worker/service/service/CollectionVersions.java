@@ -0,0 +1,151 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-memory version counters behind the conditional GETs of {@code /api/works} and
+ * {@code /api/bookings/my-bookings}, so a revalidation can be answered with 304 without
+ * touching the database.
+ *
+ * The works list has one counter; bookings have one per user plus a generation for changes
+ * that reach every user's list (a renamed or deleted user). Writers bump them once their
+ * transaction commits, and readers must take a {@link Snapshot} before loading the data: a
+ * change racing the read then costs one extra 200, never a stale 304.
+ *
+ * The counters start over on every restart, so the ETags carry a random per-start epoch.
+ * Like the other in-memory indexes this assumes writes go through this instance.
+ *
+ * With read replicas ({@code app.datasource.routing.enabled}) a read right after a change can
+ * still see the old rows, so no validators are sent until the change is older than the
+ * read-your-writes window: a stale list must not be cached under the new ETag.
+ */
+@Component
+public class CollectionVersions {
+
+    // Last-Modified only has second precision; a stamp from the current second could hide a later write in it
+    private static final long LAST_MODIFIED_SETTLE_MILLIS = 1000;
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final Stamp works = new Stamp();
+    private final Stamp bookingGeneration = new Stamp();
+    private final Map<Long, Stamp> userBookings = new ConcurrentHashMap<>();
+
+    @Value("${app.datasource.routing.enabled:false}")
+    private boolean replicaRouting;
+
+    @Value("${app.datasource.routing.read-your-writes-ms:5000}")
+    private long replicaLagMillis;
+
+    /**
+     * Current version of the works list.
+     */
+    public Snapshot works() {
+        long[] stamp = works.read();
+        return snapshot("works-" + stamp[0], stamp[1]);
+    }
+
+    /**
+     * Current version of one user's bookings, as a customer or as a worker.
+     */
+    public Snapshot bookingsOf(Long userId) {
+        long[] generation = bookingGeneration.read();
+        Stamp user = userBookings.get(userId);
+        long[] stamp = user == null ? new long[] {0, 0} : user.read();
+        return snapshot("bookings-" + generation[0] + "-" + stamp[0], Math.max(generation[1], stamp[1]));
+    }
+
+    public void worksChanged() {
+        afterCommit(works::bump);
+    }
+
+    public void bookingChanged(Long customerId, Long workerId) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        userIds.add(customerId);
+        userIds.add(workerId);
+        bookingsChanged(userIds);
+    }
+
+    public void bookingsChanged(Collection<Long> userIds) {
+        afterCommit(() -> userIds.stream().filter(Objects::nonNull)
+                .forEach(userId -> userBookings.computeIfAbsent(userId, id -> new Stamp()).bump()));
+    }
+
+    // Booking lists copy user names, so a rename or delete can change anyone's list
+    public void allBookingsChanged() {
+        afterCommit(bookingGeneration::bump);
+    }
+
+    private Snapshot snapshot(String version, long lastModified) {
+        long age = System.currentTimeMillis() - lastModified;
+        if (replicaRouting && age < replicaLagMillis) {
+            return new Snapshot(null, -1);
+        }
+        boolean settled = age >= LAST_MODIFIED_SETTLE_MILLIS;
+        return new Snapshot("W/\"" + epoch + "-" + version + "\"", settled ? lastModified : -1);
+    }
+
+    private static void afterCommit(Runnable bump) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump.run();
+                }
+            });
+        } else {
+            bump.run();
+        }
+    }
+
+    /**
+     * Validators of one collection: a weak ETag (the JSON is rendered on demand, so equal
+     * versions are equivalent rather than byte-identical) and its Last-Modified time,
+     * or -1 while that time is still within the current second. Both are absent (null and -1)
+     * while replicas may still be behind the last change.
+     */
+    public static final class Snapshot {
+
+        private final String eTag;
+        private final long lastModified;
+
+        private Snapshot(String eTag, long lastModified) {
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+
+    // Version plus the time of the change that produced it; everything counts as modified at startup
+    private static final class Stamp {
+
+        private long version;
+        private long modifiedAt = System.currentTimeMillis();
+
+        synchronized void bump() {
+            version++;
+            modifiedAt = Math.max(modifiedAt, System.currentTimeMillis());
+        }
+
+        synchronized long[] read() {
+            return new long[] {version, modifiedAt};
+        }
+    }
+}
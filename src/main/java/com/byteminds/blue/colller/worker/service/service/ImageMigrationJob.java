@@ -0,0 +1,95 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.models.Work;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * One-off job that moves legacy image BLOBs out of the {@code work} table into the {@link ImageStore}.
+ *
+ * Rows are walked in id order, {@code batchSize} ids at a time. Each image is streamed
+ * straight from the result set into the store, so only one image is ever in flight,
+ * and the row is then pointed at its hash and its BLOB cleared. The job is idempotent:
+ * re-running it only picks up rows that still have a BLOB and no hash.
+ *
+ * Enable with {@code app.images.migration.enabled=true}; it runs once the application is ready.
+ */
+@Component
+@ConditionalOnProperty(name = "app.images.migration.enabled", havingValue = "true")
+public class ImageMigrationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageMigrationJob.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ImageStore imageStore;
+    @Autowired
+    private CollectionVersions collectionVersions;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.images.migration.batch-size:100}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() {
+        long lastId = 0;
+        int migrated = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM work WHERE id > ? AND image IS NOT NULL AND image_hash IS NULL ORDER BY id LIMIT ?",
+                    Long.class, lastId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            for (Long id : ids) {
+                if (migrate(id)) {
+                    migrated++;
+                }
+                lastId = id;
+            }
+            // image_hash is part of the works list
+            collectionVersions.worksChanged();
+            log.info("Image migration: {} images moved to the image store (last id {})", migrated, lastId);
+        }
+        log.info("Image migration finished: {} images moved", migrated);
+    }
+
+    private boolean migrate(Long id) {
+        StoredImage stored = jdbcTemplate.query("SELECT image FROM work WHERE id = ?", rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            try (InputStream in = rs.getBinaryStream(1)) {
+                return in == null ? null : imageStore.save(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to store image of work " + id, e);
+            }
+        }, id);
+        if (stored == null) {
+            return false;
+        }
+        // Only clear the BLOB if nobody uploaded a new image in the meantime
+        jdbcTemplate.update(
+                "UPDATE work SET image_hash = ?, image_size = ?, image_content_type = COALESCE(image_content_type, ?), image = NULL " +
+                "WHERE id = ? AND image_hash IS NULL",
+                stored.getHash(), stored.getSize(), WorkService.DEFAULT_IMAGE_CONTENT_TYPE, id);
+        // The update bypasses Hibernate, so drop the work's second-level cache entry
+        entityManagerFactory.getCache().evict(Work.class, id);
+        return true;
+    }
+}
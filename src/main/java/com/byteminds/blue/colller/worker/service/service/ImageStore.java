@@ -0,0 +1,36 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for work images.
+ *
+ * Images are keyed by the hex SHA-256 of their bytes, so storing the same upload
+ * twice keeps a single copy and a key always refers to the same content.
+ */
+public interface ImageStore {
+
+    /**
+     * Stream the content into the store and return its hash and size.
+     */
+    StoredImage save(InputStream content) throws IOException;
+
+    /**
+     * Open the image stored under the given hash, if present.
+     */
+    Optional<Resource> load(String hash);
+
+    /**
+     * Store a derived rendition (e.g. a thumbnail) next to the original image.
+     */
+    void saveVariant(String hash, String variant, byte[] content) throws IOException;
+
+    /**
+     * Open a derived rendition of the image stored under the given hash, if it has been generated.
+     */
+    Optional<Resource> loadVariant(String hash, String variant);
+}
@@ -0,0 +1,200 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.request.ImageVariant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generates the fixed-size {@link ImageVariant} renditions of work images in the background.
+ *
+ * Work runs on the bounded {@code imageVariantExecutor}. If its queue is full the job is
+ * dropped and picked up again the next time someone asks for a missing variant, so an
+ * upload burst never blocks request threads. Until a variant exists callers fall back
+ * to the original.
+ */
+@Service
+public class ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final int MAX_UNDECODABLE = 10_000;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    @Qualifier("imageVariantExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    // Largest image (width x height) decoded for variants; a decoded image takes 4 bytes per pixel
+    @Value("${app.images.variants.max-pixels:40000000}")
+    private long maxPixels;
+
+    // Hashes queued or being processed, so repeated requests don't pile up duplicate jobs
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // Hashes that can't be decoded or are too large; these are served as the original. Bounded:
+    // once the oldest is dropped, the next request for it only reads the image header again
+    private final Set<String> undecodable = Collections.newSetFromMap(Collections.synchronizedMap(
+            new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > MAX_UNDECODABLE;
+                }
+            }));
+
+    /**
+     * Queue generation of every variant of the image.
+     */
+    public void generateVariantsAsync(String hash) {
+        if (hash == null || undecodable.contains(hash) || !inFlight.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generateVariants(hash);
+                } finally {
+                    inFlight.remove(hash);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            inFlight.remove(hash);
+            log.warn("Image variant queue full, skipping {} for now", hash);
+        }
+    }
+
+    /**
+     * Look up a generated variant. If it is missing, generation is (re)queued and empty is returned.
+     */
+    public Optional<Resource> findVariant(String hash, ImageVariant variant) {
+        Optional<Resource> resource = imageStore.loadVariant(hash, variant.getParam());
+        if (resource.isEmpty()) {
+            generateVariantsAsync(hash);
+        }
+        return resource;
+    }
+
+    private void generateVariants(String hash) {
+        Optional<Resource> original = imageStore.load(hash);
+        if (original.isEmpty()) {
+            return;
+        }
+        try {
+            BufferedImage source;
+            try (InputStream in = original.get().getInputStream()) {
+                source = decode(hash, in);
+            }
+            if (source == null) {
+                undecodable.add(hash);
+                return;
+            }
+            for (ImageVariant variant : ImageVariant.values()) {
+                if (imageStore.loadVariant(hash, variant.getParam()).isEmpty()) {
+                    imageStore.saveVariant(hash, variant.getParam(), toJpeg(resize(source, variant.getMaxDimension())));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to generate variants for image {}", hash, e);
+        }
+    }
+
+    // Reads the dimensions from the header first, so a small file declaring huge dimensions is never decoded
+    private BufferedImage decode(String hash, InputStream in) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = input == null ? Collections.emptyIterator() : ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                log.warn("Image {} is not in a readable format, no variants generated", hash);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("Image {} has {} pixels, more than the {} allowed, no variants generated", hash, pixels, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halve repeatedly, then do one final bilinear step: much better quality than a single big downscale
+    private static BufferedImage resize(BufferedImage source, int maxDimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        // JPEG has no alpha: paint onto white RGB
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] toJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,92 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Repository.StreamingQueries;
+import com.byteminds.blue.colller.worker.service.request.StreamFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes the rows of a {@code Stream}-returning query to the response while they are fetched,
+ * so neither the rows nor the JSON of a whole collection are ever held in memory.
+ *
+ * The body runs on the MVC async executor after the handler has returned: it opens its own
+ * read-only transaction, serializes each row with Jackson's streaming {@link JsonGenerator}
+ * and drops the fetched entities from the persistence context every {@code FETCH_SIZE} rows.
+ * The status line has gone out by then, so a failure midway ends the response early:
+ * a JSON array is left unterminated and an NDJSON body stops at the last complete line.
+ */
+@Component
+public class JsonStreamWriter {
+
+    private static final int ROWS_PER_FLUSH = Integer.parseInt(StreamingQueries.FETCH_SIZE);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Body that runs {@code query} and writes its rows in {@code format}.
+     */
+    public <T> StreamingResponseBody write(StreamFormat format, Supplier<Stream<T>> query) {
+        return out -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> {
+                try (Stream<T> rows = query.get()) {
+                    writeRows(format, rows.iterator(), out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+    }
+
+    private <T> void writeRows(StreamFormat format, Iterator<T> rows, OutputStream out) throws IOException {
+        // Flushing is left to the row count below, not done after every value
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // NDJSON ends every line itself, including the last
+            generator.setRootValueSeparator(null);
+            if (format == StreamFormat.JSON) {
+                generator.writeStartArray();
+            }
+            int written = 0;
+            while (rows.hasNext()) {
+                writer.writeValue(generator, rows.next());
+                if (format == StreamFormat.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+                if (++written % ROWS_PER_FLUSH == 0) {
+                    // Nothing else in this read-only transaction needs the rows already written
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+            if (format == StreamFormat.JSON) {
+                generator.writeEndArray();
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * {@link ImageStore} on the local filesystem.
+ *
+ * Files live at {@code <root>/<first two hex chars>/<sha256>} so no directory grows
+ * too large, with derived renditions alongside as {@code <sha256>.<variant>}.
+ * Uploads are hashed while being written to a temp file and then moved into place;
+ * if the target already exists the temp copy is simply discarded.
+ */
+@Component
+public class LocalFileImageStore implements ImageStore {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern VARIANT_NAME = Pattern.compile("[a-z0-9]+");
+
+    private final Path root;
+    private final Path tmpDir;
+
+    public LocalFileImageStore(@Value("${app.images.store.root:./data/images}") String root) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.tmpDir = this.root.resolve("tmp");
+        Files.createDirectories(tmpDir);
+    }
+
+    @Override
+    public StoredImage save(InputStream content) throws IOException {
+        MessageDigest digest = newDigest();
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            long size;
+            try (DigestInputStream in = new DigestInputStream(content, digest);
+                 OutputStream out = Files.newOutputStream(tmp)) {
+                size = in.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(hash);
+            if (Files.exists(target)) {
+                // Identical content is already stored
+                return new StoredImage(hash, size);
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            return new StoredImage(hash, size);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public Optional<Resource> load(String hash) {
+        if (hash == null || !SHA256_HEX.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathFor(hash);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    @Override
+    public void saveVariant(String hash, String variant, byte[] content) throws IOException {
+        Path target = variantPathFor(hash, variant);
+        Path tmp = Files.createTempFile(tmpDir, "variant-", ".part");
+        try {
+            Files.write(tmp, content);
+            Files.createDirectories(target.getParent());
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public Optional<Resource> loadVariant(String hash, String variant) {
+        if (hash == null || !SHA256_HEX.matcher(hash).matches() || !VARIANT_NAME.matcher(variant).matches()) {
+            return Optional.empty();
+        }
+        Path path = variantPathFor(hash, variant);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    private Path variantPathFor(String hash, String variant) {
+        if (!SHA256_HEX.matcher(hash).matches() || !VARIANT_NAME.matcher(variant).matches()) {
+            throw new IllegalArgumentException("Invalid image variant key");
+        }
+        return pathFor(hash).resolveSibling(hash + "." + variant);
+    }
+
+    private Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
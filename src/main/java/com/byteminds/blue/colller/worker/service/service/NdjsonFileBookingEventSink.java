@@ -0,0 +1,72 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.models.BookingEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * {@link BookingEventSink} appending one JSON object per line to a local file, for tests
+ * and local development ({@code tail -f} it, or feed it to {@code jq}). Off unless
+ * {@code app.bookings.outbox.ndjson.enabled} is true.
+ *
+ * Each batch is written and forced to disk before {@link #deliver} returns, so an
+ * acknowledged event survives a crash; a redelivered batch simply appears twice.
+ */
+@Component
+@ConditionalOnProperty(name = "app.bookings.outbox.ndjson.enabled", havingValue = "true")
+public class NdjsonFileBookingEventSink implements BookingEventSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public NdjsonFileBookingEventSink(ObjectMapper objectMapper,
+                                      @Value("${app.bookings.outbox.ndjson.path:./data/events/booking-events.ndjson}") String path)
+            throws IOException {
+        this.objectMapper = objectMapper;
+        this.path = Paths.get(path).toAbsolutePath().normalize();
+        Files.createDirectories(this.path.getParent());
+    }
+
+    @Override
+    public String getName() {
+        return "ndjson";
+    }
+
+    @Override
+    public synchronized void deliver(List<BookingEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (BookingEvent event : events) {
+            ObjectNode line = objectMapper.createObjectNode();
+            line.put("id", event.getId());
+            line.put("bookingId", event.getBookingId());
+            line.put("version", event.getBookingVersion());
+            line.put("type", event.getType().name());
+            line.put("from", event.getFromStatus() == null ? null : event.getFromStatus().name());
+            line.put("to", event.getToStatus().name());
+            line.put("occurredAt", event.getCreatedAt().toString());
+            line.set("booking", objectMapper.readTree(event.getPayload()));
+            lines.append(objectMapper.writeValueAsString(line)).append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
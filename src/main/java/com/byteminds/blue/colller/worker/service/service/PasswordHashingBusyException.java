@@ -0,0 +1,19 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+/**
+ * Thrown when the password hashing pool is saturated; the caller should answer 503 with
+ * a {@code Retry-After} of {@link #getRetryAfterSeconds()}.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("Password hashing is saturated, retry in " + retryAfterSeconds + " s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,106 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing and verification on the bounded {@code passwordHashExecutor} instead of
+ * on request threads.
+ *
+ * The pool has a fixed number of threads and a short queue, so a login storm can only ever
+ * occupy that many cores; everything beyond the queue is shed at once with
+ * {@link PasswordHashingBusyException} rather than piling up behind it. The retry hint is how
+ * long a full queue takes to drain at the recently observed hash time.
+ *
+ * Metrics: {@code password.hash} (time spent hashing, tagged {@code operation}),
+ * {@code password.hash.wait} (time queued) and {@code password.hash.rejected}.
+ */
+@Service
+public class PasswordHashingService {
+
+    // weight of the newest sample in the moving average of hash times
+    private static final double SMOOTHING = 0.2;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    @Qualifier("passwordHashExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile double averageHashNanos;
+
+    public String encode(String rawPassword) {
+        return run("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T run(String operation, Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                timer("password.hash.wait", operation).record(start - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    timer("password.hash", operation).record(elapsed, TimeUnit.NANOSECONDS);
+                    double average = averageHashNanos;
+                    averageHashNanos = average == 0 ? elapsed : average + SMOOTHING * (elapsed - average);
+                }
+            }, executor);
+        } catch (TaskRejectedException e) {
+            Counter.builder("password.hash.rejected")
+                    .description("Password hash requests shed because the pool was saturated")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds());
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Time for a full queue to drain through the pool, at least one second
+    long retryAfterSeconds() {
+        int threads = Math.max(1, executor.getMaxPoolSize());
+        double drainNanos = averageHashNanos * (executor.getQueueCapacity() + threads) / threads;
+        return Math.max(1, (long) Math.ceil(drainNanos / 1e9));
+    }
+
+    private Timer timer(String name, String operation) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+/**
+ * Result of writing an image to an {@link ImageStore}: its SHA-256 content hash and size.
+ */
+public class StoredImage {
+    private final String hash;
+    private final long size;
+
+    public StoredImage(String hash, long size) {
+        this.hash = hash;
+        this.size = size;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,42 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.models.Role;
+import com.byteminds.blue.colller.worker.service.models.Users;
+
+/**
+ * The few fields of a user that request handling needs to authorize and attribute a call.
+ * Immutable, so it can be shared from {@link UserIdentityCache} across threads.
+ */
+public class UserIdentity {
+    private final Long id;
+    private final String email;
+    private final Role role;
+    private final String name;
+
+    public UserIdentity(Long id, String email, Role role, String name) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.name = name;
+    }
+
+    public static UserIdentity of(Users user) {
+        return new UserIdentity(user.getId(), user.getEmail(), user.getRole(), user.getName());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,147 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Repository.UsersRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, TTL-based cache of {@link UserIdentity} by email, so resolving the caller of
+ * an authenticated request doesn't hit the users table every time.
+ *
+ * Entries expire after {@code ttl-seconds} as a safety net, but {@link UsersService}
+ * evicts them as soon as the update or delete of the user commits. A lookup that read the
+ * row while an eviction ran drops its own entry again, so it can't outlive the eviction.
+ */
+@Component
+public class UserIdentityCache {
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped by every eviction, before it removes anything
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserIdentityCache(@Value("${app.users.identity-cache.ttl-seconds:300}") long ttlSeconds,
+                             @Value("${app.users.identity-cache.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Identity of the user with this email, loading it from the database on a miss.
+     */
+    public UserIdentity getByEmail(String email) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAtMillis > now) {
+            hits.increment();
+            return entry.identity;
+        }
+        misses.increment();
+        long loadedAt = generation.get();
+        UserIdentity identity = usersRepository.findByEmail(email)
+                .map(UserIdentity::of)
+                .orElseThrow(() -> new UsernameNotFoundException("Invalid jwt token : email not found "));
+        if (maxSize > 0) {
+            if (entries.size() >= maxSize) {
+                evictSome(now);
+            }
+            Entry loaded = new Entry(identity, now + ttlMillis);
+            entries.put(email, loaded);
+            // An eviction since the read may have run before this put and missed it: the row read may be stale
+            if (generation.get() != loadedAt) {
+                entries.remove(email, loaded);
+            }
+        }
+        return identity;
+    }
+
+    /**
+     * Drop the cached identity of a user, whatever email it was cached under.
+     * Inside a transaction this happens after commit, so a lookup can't cache the old row in between.
+     */
+    public void evictById(Long userId) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            if (entries.values().removeIf(entry -> entry.identity.getId().equals(userId))) {
+                evictions.increment();
+            }
+        });
+    }
+
+    public void evictByEmail(String email) {
+        if (email == null) {
+            return;
+        }
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            if (entries.remove(email) != null) {
+                evictions.increment();
+            }
+        });
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        return stats;
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private void evictSome(long now) {
+        entries.values().removeIf(entry -> entry.expiresAtMillis <= now);
+        // Free a tenth of the cache at once so a full cache doesn't sweep on every miss
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static final class Entry {
+        final UserIdentity identity;
+        final long expiresAtMillis;
+
+        Entry(UserIdentity identity, long expiresAtMillis) {
+            this.identity = identity;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
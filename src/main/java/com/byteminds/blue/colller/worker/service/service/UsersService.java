@@ -3,10 +3,14 @@ package com.byteminds.blue.colller.worker.service.service;
 import com.byteminds.blue.colller.worker.service.Config.JwtProvider;
 import com.byteminds.blue.colller.worker.service.Repository.UsersRepository;
 import com.byteminds.blue.colller.worker.service.models.Users;
+import com.byteminds.blue.colller.worker.service.request.StreamFormat;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -16,6 +20,28 @@ public class UsersService {
     private  UsersRepository userRepository;
     @Autowired
     private JwtProvider jwtProvider;
+    @Autowired
+    private UserIdentityCache userIdentityCache;
+    @Autowired
+    private BookingViewProjector bookingViewProjector;
+    @Autowired
+    private CollectionVersions collectionVersions;
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+
+    /**
+     * Resolve the caller of a request from its JWT via the identity cache, without a users query on a hit.
+     */
+    public UserIdentity findIdentityByJwtToken(String jwt)
+    {
+        String email = jwtProvider.getemailfromjwttoken(jwt);
+        return userIdentityCache.getByEmail(email);
+    }
+
+    public Map<String, Object> getIdentityCacheStats()
+    {
+        return userIdentityCache.stats();
+    }
 
     public Users findByJwtToken(String jwt)
     {
@@ -36,8 +62,20 @@ public class UsersService {
 
 
     // ✅ Create or Update User
+    @Transactional
     public Users saveUser(Users user) {
-        return userRepository.save(user);
+        boolean existing = user.getId() != null;
+        Users saved = userRepository.save(user);
+        if (existing) {
+            // booking_view copies user names, keep them in step
+            bookingViewProjector.onUserRenamed(saved.getId(), saved.getName());
+            // works embed their worker and booking lists copy names
+            collectionVersions.worksChanged();
+            collectionVersions.allBookingsChanged();
+        }
+        // id-based so a changed email doesn't leave the old entry behind
+        userIdentityCache.evictById(saved.getId());
+        return saved;
     }
 
     // ✅ Get all users
@@ -45,6 +83,11 @@ public class UsersService {
         return userRepository.findAll();
     }
 
+    // ✅ Get all users (without password hashes), written while the rows are fetched
+    public StreamingResponseBody streamAllUsers(StreamFormat format) {
+        return jsonStreamWriter.write(format, userRepository::streamAll);
+    }
+
     // ✅ Get user by ID
     public Optional<Users> getUserById(Long id) {
         return userRepository.findById(id);
@@ -58,5 +101,8 @@ public class UsersService {
     // ✅ Delete user
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        userIdentityCache.evictById(id);
+        collectionVersions.worksChanged();
+        collectionVersions.allBookingsChanged();
     }
 }
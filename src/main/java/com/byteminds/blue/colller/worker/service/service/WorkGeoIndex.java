@@ -0,0 +1,253 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Repository.WorkLocationView;
+import com.byteminds.blue.colller.worker.service.Repository.WorkRepository;
+import com.byteminds.blue.colller.worker.service.Response.NearbyWorkResponse;
+import com.byteminds.blue.colller.worker.service.models.Work;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory uniform-grid index over the locations of available works.
+ *
+ * The globe is split into square cells of {@code cellSizeDegrees}. A nearby
+ * query visits cells in rings around the query point and stops as soon as the
+ * k nearest hits are closer than anything the next ring could contain, so the
+ * cost depends on local density rather than on the total number of posts.
+ */
+@Component
+public class WorkGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+    private static final double POLAR_LATITUDE = 89.0;
+
+    @Autowired
+    private WorkRepository workRepository;
+
+    private final double cellSizeDegrees;
+    private final int columns;
+
+    // cell key -> (work id -> entry)
+    private final Map<Long, Map<Long, Entry>> cells = new ConcurrentHashMap<>();
+    // work id -> entry, so updates and deletes can find the old cell
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public WorkGeoIndex(@Value("${app.works.geo.cell-size-degrees:0.05}") double cellSizeDegrees) {
+        if (cellSizeDegrees <= 0 || cellSizeDegrees > 10) {
+            throw new IllegalArgumentException("Geo index cell size must be in (0, 10] degrees");
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.columns = (int) Math.ceil(360.0 / cellSizeDegrees);
+    }
+
+    /**
+     * Load every available work with a location once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        cells.clear();
+        entries.clear();
+        for (WorkLocationView view : workRepository.findAvailableWorkLocations()) {
+            add(new Entry(view.getId(), view.getTitle(), view.getCategory(), view.getCharges(),
+                    view.getEstimatedTimeHours(), view.getLatitude(), view.getLongitude(), view.getWorkerId()));
+        }
+    }
+
+    /**
+     * Insert or refresh a work. Works that are unavailable or have no location are dropped.
+     */
+    public void put(Work work) {
+        remove(work.getId());
+        if (!Boolean.TRUE.equals(work.getAvailable()) || work.getLatitude() == null || work.getLongitude() == null) {
+            return;
+        }
+        Long workerId = work.getWorker() != null ? work.getWorker().getId() : null;
+        add(new Entry(work.getId(), work.getTitle(), work.getCategory(), work.getCharges(),
+                work.getEstimatedTimeHours(), work.getLatitude(), work.getLongitude(), workerId));
+    }
+
+    /**
+     * Remove a work from the index (no-op if it is not indexed).
+     */
+    public void remove(Long workId) {
+        Entry old = entries.remove(workId);
+        if (old == null) {
+            return;
+        }
+        cells.computeIfPresent(old.cell, (key, bucket) -> {
+            bucket.remove(workId);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Find up to {@code limit} available works within {@code radiusKm} of the point,
+     * nearest first, optionally restricted to one category (case-insensitive).
+     */
+    public List<NearbyWorkResponse> findNearby(double lat, double lon, double radiusKm, String category, int limit) {
+        // max-heap on distance holding the best hits so far
+        PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble((Hit h) -> h.distanceKm).reversed());
+
+        int centerRow = row(lat);
+        int centerCol = column(lon);
+        double cellKm = cellSizeDegrees * KM_PER_DEGREE;
+
+        // Longitude cells shrink towards the poles, so size the search box for the highest latitude it reaches.
+        // Near a pole the box covers every column and no ring can be ruled out by distance.
+        int rowRadius = (int) Math.ceil(radiusKm / cellKm);
+        double highestLat = Math.abs(lat) + (rowRadius + 1) * cellSizeDegrees;
+        boolean polar = highestLat >= POLAR_LATITUDE;
+        double cellWidthKm = polar ? 0 : cellKm * Math.cos(Math.toRadians(highestLat));
+        int colRadius = polar ? columns / 2 : Math.min((int) Math.ceil(radiusKm / cellWidthKm), columns / 2);
+        // when the box wraps all the way round, -colRadius and +colRadius are the same column
+        boolean wrapsFully = 2 * colRadius == columns;
+        int maxRing = Math.max(rowRadius, colRadius);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Nothing in this ring can be closer than (ring - 1) full cells away
+            if (best.size() == limit && ring > 0 && (ring - 1) * Math.min(cellKm, cellWidthKm) > best.peek().distanceKm) {
+                break;
+            }
+            for (int dr = -ring; dr <= ring; dr++) {
+                if (Math.abs(dr) > rowRadius) {
+                    continue;
+                }
+                boolean edgeRow = Math.abs(dr) == ring;
+                for (int dc = -ring; dc <= ring; dc += edgeRow ? 1 : 2 * ring) {
+                    if (Math.abs(dc) <= colRadius && !(wrapsFully && dc == -colRadius)) {
+                        scanCell(centerRow + dr, centerCol + dc, lat, lon, radiusKm, category, limit, best);
+                    }
+                    if (ring == 0) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        List<NearbyWorkResponse> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(best.poll().toResponse());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void scanCell(int row, int col, double lat, double lon, double radiusKm,
+                          String category, int limit, PriorityQueue<Hit> best) {
+        Map<Long, Entry> bucket = cells.get(cellKey(row, Math.floorMod(col, columns)));
+        if (bucket == null) {
+            return;
+        }
+        for (Entry entry : bucket.values()) {
+            if (category != null && !category.equalsIgnoreCase(entry.category)) {
+                continue;
+            }
+            double distance = haversineKm(lat, lon, entry.latitude, entry.longitude);
+            if (distance > radiusKm) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Hit(entry, distance));
+            } else if (distance < best.peek().distanceKm) {
+                best.poll();
+                best.add(new Hit(entry, distance));
+            }
+        }
+    }
+
+    private void add(Entry entry) {
+        entries.put(entry.id, entry);
+        // mutate the bucket inside compute so a concurrent remove can't drop it under us
+        cells.compute(entry.cell, (key, bucket) -> {
+            Map<Long, Entry> target = bucket != null ? bucket : new ConcurrentHashMap<>();
+            target.put(entry.id, entry);
+            return target;
+        });
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat + 90.0) / cellSizeDegrees);
+    }
+
+    private int column(double lon) {
+        return Math.floorMod((int) Math.floor((lon + 180.0) / cellSizeDegrees), columns);
+    }
+
+    private long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private final class Entry {
+        final Long id;
+        final String title;
+        final String category;
+        final Double charges;
+        final Double estimatedTimeHours;
+        final double latitude;
+        final double longitude;
+        final Long workerId;
+        final long cell;
+
+        Entry(Long id, String title, String category, Double charges, Double estimatedTimeHours,
+              double latitude, double longitude, Long workerId) {
+            this.id = id;
+            this.title = title;
+            this.category = category;
+            this.charges = charges;
+            this.estimatedTimeHours = estimatedTimeHours;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.workerId = workerId;
+            this.cell = cellKey(row(latitude), column(longitude));
+        }
+    }
+
+    private static final class Hit {
+        final Entry entry;
+        final double distanceKm;
+
+        Hit(Entry entry, double distanceKm) {
+            this.entry = entry;
+            this.distanceKm = distanceKm;
+        }
+
+        NearbyWorkResponse toResponse() {
+            NearbyWorkResponse response = new NearbyWorkResponse();
+            response.setId(entry.id);
+            response.setTitle(entry.title);
+            response.setCategory(entry.category);
+            response.setCharges(entry.charges);
+            response.setEstimatedTimeHours(entry.estimatedTimeHours);
+            response.setLatitude(entry.latitude);
+            response.setLongitude(entry.longitude);
+            response.setWorkerId(entry.workerId);
+            response.setDistanceKm(distanceKm);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Repository.WorkRepository;
+import com.byteminds.blue.colller.worker.service.Repository.WorkSearchView;
+import com.byteminds.blue.colller.worker.service.Response.WorkSearchPageResponse;
+import com.byteminds.blue.colller.worker.service.Response.WorkSearchResponse;
+import com.byteminds.blue.colller.worker.service.models.Work;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index over the title, category and description of available works.
+ *
+ * Hits are ranked with BM25; a title match counts {@value #TITLE_WEIGHT} times and a
+ * category match {@value #CATEGORY_WEIGHT} times as much as a description match.
+ * The last word of a query is also matched as a prefix, so "plumb" finds "plumbing"
+ * while the user is still typing. Writes are serialized, searches run lock-free and
+ * may briefly see an update half applied.
+ */
+@Component
+public class WorkSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    // prefix hits rank a little below exact ones
+    private static final double PREFIX_BOOST = 0.8;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+
+    @Autowired
+    private WorkRepository workRepository;
+
+    // work id -> document
+    private final Map<Long, Doc> docs = new ConcurrentHashMap<>();
+    // stemmed term -> (work id -> weighted term frequency)
+    private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+    // unstemmed word -> number of documents containing it, sorted for prefix lookups
+    private final NavigableMap<String, Integer> words = new ConcurrentSkipListMap<>();
+    private volatile long totalLength;
+
+    /**
+     * Load every available work once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        // query outside the lock: never block on JDBC while holding a monitor
+        List<WorkSearchView> views = workRepository.findAvailableWorkText();
+        synchronized (this) {
+            docs.clear();
+            postings.clear();
+            words.clear();
+            totalLength = 0;
+            for (WorkSearchView view : views) {
+                add(new Doc(view.getId(), view.getTitle(), view.getDescription(), view.getCategory(), view.getCharges(),
+                        view.getEstimatedTimeHours(), view.getLatitude(), view.getLongitude(), view.getWorkerId()));
+            }
+        }
+    }
+
+    /**
+     * Insert or refresh a work. Unavailable works are dropped.
+     */
+    public synchronized void put(Work work) {
+        remove(work.getId());
+        if (!Boolean.TRUE.equals(work.getAvailable())) {
+            return;
+        }
+        Long workerId = work.getWorker() != null ? work.getWorker().getId() : null;
+        add(new Doc(work.getId(), work.getTitle(), work.getDescription(), work.getCategory(), work.getCharges(),
+                work.getEstimatedTimeHours(), work.getLatitude(), work.getLongitude(), workerId));
+    }
+
+    /**
+     * Remove a work from the index (no-op if it is not indexed).
+     */
+    public synchronized void remove(Long workId) {
+        Doc old = docs.remove(workId);
+        if (old == null) {
+            return;
+        }
+        for (String term : old.termFrequencies.keySet()) {
+            postings.computeIfPresent(term, (key, list) -> {
+                list.remove(workId);
+                return list.isEmpty() ? null : list;
+            });
+        }
+        for (String word : old.words) {
+            words.computeIfPresent(word, (key, count) -> count == 1 ? null : count - 1);
+        }
+        totalLength -= old.length;
+    }
+
+    public int size() {
+        return docs.size();
+    }
+
+    /**
+     * Rank the works matching any word of the query and return one page of them, best first.
+     * Category (case-insensitive), price range and a radius around a point narrow the hits;
+     * each filter is skipped when its parameters are null.
+     */
+    public WorkSearchPageResponse search(String query, String category, Double minCharges, Double maxCharges,
+                                         Double lat, Double lon, Double radiusKm, int page, int size) {
+        // Summed in long: a huge page would otherwise wrap the window below to a negative size
+        if (page < 0 || size <= 0 || ((long) page + 1) * size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Search page " + page + " of size " + size + " is out of range");
+        }
+        List<String> tokens = WorkTextAnalyzer.tokenize(query);
+        if (tokens.isEmpty() || docs.isEmpty()) {
+            return new WorkSearchPageResponse(new ArrayList<>(), page, 0, false);
+        }
+        boolean lastIsPrefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+
+        int n = docs.size();
+        double avgLength = Math.max(1.0, (double) totalLength / n);
+        Map<Long, Double> scores = new HashMap<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            Map<String, Double> terms = expand(tokens.get(i), lastIsPrefix && i == tokens.size() - 1);
+            // a document scores the best of the term's expansions, so a prefix with many completions isn't over-counted
+            Map<Long, Double> tokenScores = new HashMap<>();
+            for (Map.Entry<String, Double> term : terms.entrySet()) {
+                Map<Long, Integer> list = postings.get(term.getKey());
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (n - list.size() + 0.5) / (list.size() + 0.5));
+                for (Map.Entry<Long, Integer> posting : list.entrySet()) {
+                    Doc doc = docs.get(posting.getKey());
+                    if (doc == null) {
+                        continue;
+                    }
+                    double tf = posting.getValue();
+                    double score = term.getValue() * idf * tf * (K1 + 1)
+                            / (tf + K1 * (1 - B + B * doc.length / avgLength));
+                    tokenScores.merge(posting.getKey(), score, Math::max);
+                }
+            }
+            tokenScores.forEach((id, score) -> scores.merge(id, score, Double::sum));
+        }
+
+        // min-heap holding the best (page + 1) * size hits seen so far
+        int keep = (page + 1) * size;
+        Comparator<Hit> ranking = Comparator.comparingDouble((Hit h) -> h.score)
+                .thenComparing((Hit h) -> h.doc.id, Comparator.reverseOrder());
+        PriorityQueue<Hit> best = new PriorityQueue<>(ranking);
+        long total = 0;
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            Doc doc = docs.get(entry.getKey());
+            if (doc == null) {
+                continue;
+            }
+            Double distance = null;
+            if (lat != null && lon != null && radiusKm != null) {
+                if (doc.latitude == null || doc.longitude == null) {
+                    continue;
+                }
+                distance = WorkGeoIndex.haversineKm(lat, lon, doc.latitude, doc.longitude);
+                if (distance > radiusKm) {
+                    continue;
+                }
+            }
+            if (!matches(doc, category, minCharges, maxCharges)) {
+                continue;
+            }
+            total++;
+            Hit hit = new Hit(doc, entry.getValue(), distance);
+            if (best.size() < keep) {
+                best.add(hit);
+            } else if (ranking.compare(hit, best.peek()) > 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(ranking.reversed());
+        List<WorkSearchResponse> content = new ArrayList<>();
+        for (int i = page * size; i < ranked.size(); i++) {
+            content.add(ranked.get(i).toResponse());
+        }
+        return new WorkSearchPageResponse(content, page, total, total > keep);
+    }
+
+    // Stemmed terms a query token matches, with their boost
+    private Map<String, Double> expand(String token, boolean prefix) {
+        Map<String, Double> terms = new LinkedHashMap<>();
+        terms.put(WorkTextAnalyzer.stem(token), 1.0);
+        if (!prefix || token.length() < MIN_PREFIX_LENGTH) {
+            return terms;
+        }
+        List<Map.Entry<String, Integer>> completions =
+                new ArrayList<>(words.subMap(token, true, token + Character.MAX_VALUE, false).entrySet());
+        if (completions.size() > MAX_PREFIX_EXPANSIONS) {
+            // keep the most common completions
+            completions.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+            completions = completions.subList(0, MAX_PREFIX_EXPANSIONS);
+        }
+        for (Map.Entry<String, Integer> completion : completions) {
+            terms.putIfAbsent(WorkTextAnalyzer.stem(completion.getKey()), PREFIX_BOOST);
+        }
+        return terms;
+    }
+
+    private static boolean matches(Doc doc, String category, Double minCharges, Double maxCharges) {
+        if (category != null && !category.equalsIgnoreCase(doc.category)) {
+            return false;
+        }
+        if (minCharges != null && (doc.charges == null || doc.charges < minCharges)) {
+            return false;
+        }
+        return maxCharges == null || doc.charges != null && doc.charges <= maxCharges;
+    }
+
+    private void add(Doc doc) {
+        docs.put(doc.id, doc);
+        doc.termFrequencies.forEach((term, tf) ->
+                postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(doc.id, tf));
+        for (String word : doc.words) {
+            words.merge(word, 1, Integer::sum);
+        }
+        totalLength += doc.length;
+    }
+
+    private static final class Doc {
+        final Long id;
+        final String title;
+        final String category;
+        final Double charges;
+        final Double estimatedTimeHours;
+        final Double latitude;
+        final Double longitude;
+        final Long workerId;
+        final Map<String, Integer> termFrequencies = new HashMap<>();
+        final List<String> words;
+        final int length;
+
+        Doc(Long id, String title, String description, String category, Double charges, Double estimatedTimeHours,
+            Double latitude, Double longitude, Long workerId) {
+            this.id = id;
+            this.title = title;
+            this.category = category;
+            this.charges = charges;
+            this.estimatedTimeHours = estimatedTimeHours;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.workerId = workerId;
+
+            Set<String> distinctWords = new LinkedHashSet<>();
+            int weightedLength = 0;
+            weightedLength += index(title, TITLE_WEIGHT, distinctWords);
+            weightedLength += index(category, CATEGORY_WEIGHT, distinctWords);
+            weightedLength += index(description, DESCRIPTION_WEIGHT, distinctWords);
+            this.words = Collections.unmodifiableList(new ArrayList<>(distinctWords));
+            this.length = weightedLength;
+        }
+
+        private int index(String text, int weight, Set<String> distinctWords) {
+            List<String> tokens = WorkTextAnalyzer.tokenize(text);
+            for (String token : tokens) {
+                distinctWords.add(token);
+                termFrequencies.merge(WorkTextAnalyzer.stem(token), weight, Integer::sum);
+            }
+            return tokens.size() * weight;
+        }
+    }
+
+    private static final class Hit {
+        final Doc doc;
+        final double score;
+        final Double distanceKm;
+
+        Hit(Doc doc, double score, Double distanceKm) {
+            this.doc = doc;
+            this.score = score;
+            this.distanceKm = distanceKm;
+        }
+
+        WorkSearchResponse toResponse() {
+            WorkSearchResponse response = new WorkSearchResponse();
+            response.setId(doc.id);
+            response.setTitle(doc.title);
+            response.setCategory(doc.category);
+            response.setCharges(doc.charges);
+            response.setEstimatedTimeHours(doc.estimatedTimeHours);
+            response.setLatitude(doc.latitude);
+            response.setLongitude(doc.longitude);
+            response.setWorkerId(doc.workerId);
+            response.setScore(score);
+            response.setDistanceKm(distanceKm);
+            return response;
+        }
+    }
+}
@@ -1,23 +1,53 @@
 package com.byteminds.blue.colller.worker.service.service;
 
 import com.byteminds.blue.colller.worker.service.Repository.UsersRepository;
+import com.byteminds.blue.colller.worker.service.Repository.WorkImageView;
 import com.byteminds.blue.colller.worker.service.Repository.WorkRepository;
+import com.byteminds.blue.colller.worker.service.Response.FreeSlotResponse;
+import com.byteminds.blue.colller.worker.service.Response.NearbyWorkResponse;
+import com.byteminds.blue.colller.worker.service.Response.WorkSearchPageResponse;
 import com.byteminds.blue.colller.worker.service.models.Users;
 import com.byteminds.blue.colller.worker.service.models.Work;
+import com.byteminds.blue.colller.worker.service.request.ImageType;
+import com.byteminds.blue.colller.worker.service.request.ImageVariant;
+import com.byteminds.blue.colller.worker.service.request.StreamFormat;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = "work.service", histogram = true)
 public class WorkService {
     @Autowired
     private  WorkRepository workPostRepository;
     @Autowired
     private UsersRepository usersRepository;
+    @Autowired
+    private WorkGeoIndex workGeoIndex;
+    @Autowired
+    private WorkSearchIndex workSearchIndex;
+    @Autowired
+    private WorkerScheduleIndex workerScheduleIndex;
+    @Autowired
+    private ImageStore imageStore;
+    @Autowired
+    private ImageVariantService imageVariantService;
+    @Autowired
+    private CollectionVersions collectionVersions;
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+
+    public static final String DEFAULT_IMAGE_CONTENT_TYPE = "image/jpeg";
 
 
 
@@ -48,12 +78,29 @@ public class WorkService {
         post.setLongitude(longitude);
         post.setWorker(worker);
 
-        // Save image if provided
+        // Save image if provided; its type comes from the bytes, never from the client's Content-Type
         if (imageFile != null && !imageFile.isEmpty()) {
-            post.setImage(imageFile.getBytes());
+            StoredImage stored;
+            ImageType type;
+            try (InputStream in = new BufferedInputStream(imageFile.getInputStream())) {
+                in.mark(ImageType.HEADER_LENGTH);
+                type = ImageType.detect(in.readNBytes(ImageType.HEADER_LENGTH))
+                        .orElseThrow(() -> new IllegalArgumentException("Image must be a JPEG, PNG, GIF or WebP file"));
+                in.reset();
+                stored = imageStore.save(in);
+            }
+            post.setImageHash(stored.getHash());
+            post.setImageSize(stored.getSize());
+            post.setImageContentType(type.getContentType());
         }
 
-        return workPostRepository.save(post);
+        Work saved = workPostRepository.save(post);
+        workGeoIndex.put(saved);
+        workSearchIndex.put(saved);
+        collectionVersions.worksChanged();
+        // Thumbnails etc. are rendered in the background; until then the original is served
+        imageVariantService.generateVariantsAsync(saved.getImageHash());
+        return saved;
     }
 
     /**
@@ -63,6 +110,13 @@ public class WorkService {
         return workPostRepository.findAll();
     }
 
+    /**
+     * Get all work posts (with their worker, without its password hash) as a body written while the rows are fetched.
+     */
+    public StreamingResponseBody streamAllWork(StreamFormat format) {
+        return jsonStreamWriter.write(format, workPostRepository::streamAll);
+    }
+
     /**
      * Get a work post by ID.
      */
@@ -70,11 +124,42 @@ public class WorkService {
         return workPostRepository.findById(id);
     }
 
+    /**
+     * Get image metadata of a work post without loading the legacy BLOB.
+     */
+    public Optional<WorkImageView> getWorkImageInfo(Long id) {
+        return workPostRepository.findImageById(id);
+    }
+
+    /**
+     * Get the legacy in-row image of a work post, if it still has one.
+     */
+    public Optional<byte[]> getLegacyImage(Long id) {
+        return workPostRepository.findLegacyImageById(id);
+    }
+
+    /**
+     * Open a stored image by its content hash.
+     */
+    public Optional<Resource> openImage(String hash) {
+        return imageStore.load(hash);
+    }
+
+    /**
+     * Open a generated size variant of a stored image, if it is ready.
+     */
+    public Optional<Resource> openImageVariant(String hash, ImageVariant variant) {
+        return imageVariantService.findVariant(hash, variant);
+    }
+
     /**
      * Delete a work post by ID.
      */
     public void deleteWork(Long id) {
         workPostRepository.deleteById(id);
+        workGeoIndex.remove(id);
+        workSearchIndex.remove(id);
+        collectionVersions.worksChanged();
     }
 
     /**
@@ -84,7 +169,35 @@ public class WorkService {
         Work post = workPostRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("WorkPost not found with id: " + id));
         post.setAvailable(isAvailable);
-        return workPostRepository.save(post);
+        Work saved = workPostRepository.save(post);
+        workGeoIndex.put(saved);
+        workSearchIndex.put(saved);
+        collectionVersions.worksChanged();
+        return saved;
+    }
+
+    /**
+     * Find the nearest available work posts around a point.
+     */
+    public List<NearbyWorkResponse> findNearby(double latitude, double longitude, double radiusKm,
+                                               String category, int limit) {
+        return workGeoIndex.findNearby(latitude, longitude, radiusKm, category, limit);
+    }
+
+    /**
+     * Full-text search over available work posts, best match first.
+     */
+    public WorkSearchPageResponse searchWorks(String query, String category, Double minCharges, Double maxCharges,
+                                              Double latitude, Double longitude, Double radiusKm, int page, int size) {
+        return workSearchIndex.search(query, category, minCharges, maxCharges, latitude, longitude, radiusKm, page, size);
     }
-}
 
+    /**
+     * Free windows of the work's worker between two times that are long enough for the work.
+     * Empty if the work does not exist.
+     */
+    public Optional<List<FreeSlotResponse>> findFreeSlots(Long workId, LocalDateTime from, LocalDateTime to) {
+        return workPostRepository.findById(workId).map(work -> workerScheduleIndex.findFreeWindows(
+                work.getWorker().getId(), from, to, workerScheduleIndex.durationOf(work.getEstimatedTimeHours())));
+    }
+}
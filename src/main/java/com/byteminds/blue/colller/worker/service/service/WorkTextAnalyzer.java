@@ -0,0 +1,378 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns work text and search queries into index terms.
+ *
+ * Text is lower-cased and split on anything that is not a letter or digit,
+ * English stop words are dropped and the remaining words are reduced with the
+ * Porter stemmer, so "leaking", "leaks" and "leaked" all index as "leak".
+ */
+final class WorkTextAnalyzer {
+
+    private static final int MAX_TOKEN_LENGTH = 40;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "if", "in", "into",
+            "is", "it", "its", "my", "no", "not", "of", "on", "or", "our", "so", "such", "that", "the",
+            "their", "then", "there", "these", "they", "this", "to", "was", "we", "will", "with", "you", "your");
+
+    private WorkTextAnalyzer() {
+    }
+
+    /**
+     * Lower-cased words of the text, stop words removed, not stemmed.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = lower.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH));
+                if (!STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Index terms of the text: {@link #tokenize} followed by {@link #stem}.
+     */
+    static List<String> analyze(String text) {
+        List<String> tokens = tokenize(text);
+        tokens.replaceAll(WorkTextAnalyzer::stem);
+        return tokens;
+    }
+
+    /**
+     * Porter (1980) stem of a lower-case word. Words of two letters or fewer, and
+     * words containing anything but a-z, are returned unchanged.
+     */
+    static String stem(String word) {
+        if (word.length() <= 2) {
+            return word;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return word;
+            }
+        }
+        return new Stemmer(word).run();
+    }
+
+    // Straight transcription of the reference algorithm; b[0..k] is the word being stemmed
+    private static final class Stemmer {
+        private final char[] b;
+        private int k;
+        private int j;
+
+        Stemmer(String word) {
+            this.b = word.toCharArray();
+            this.k = b.length - 1;
+        }
+
+        String run() {
+            step1ab();
+            if (k > 0) {
+                step1c();
+                step2();
+                step3();
+                step4();
+                step5();
+            }
+            return new String(b, 0, k + 1);
+        }
+
+        private boolean cons(int i) {
+            switch (b[i]) {
+                case 'a': case 'e': case 'i': case 'o': case 'u':
+                    return false;
+                case 'y':
+                    return i == 0 || !cons(i - 1);
+                default:
+                    return true;
+            }
+        }
+
+        // number of consonant-vowel sequences in b[0..j]
+        private int m() {
+            int n = 0;
+            int i = 0;
+            while (true) {
+                if (i > j) {
+                    return n;
+                }
+                if (!cons(i)) {
+                    break;
+                }
+                i++;
+            }
+            i++;
+            while (true) {
+                while (true) {
+                    if (i > j) {
+                        return n;
+                    }
+                    if (cons(i)) {
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+                n++;
+                while (true) {
+                    if (i > j) {
+                        return n;
+                    }
+                    if (!cons(i)) {
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+            }
+        }
+
+        private boolean vowelInStem() {
+            for (int i = 0; i <= j; i++) {
+                if (!cons(i)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean doubleC(int i) {
+            return i >= 1 && b[i] == b[i - 1] && cons(i);
+        }
+
+        // consonant-vowel-consonant ending at i, where the last consonant is not w, x or y
+        private boolean cvc(int i) {
+            if (i < 2 || !cons(i) || cons(i - 1) || !cons(i - 2)) {
+                return false;
+            }
+            char c = b[i];
+            return c != 'w' && c != 'x' && c != 'y';
+        }
+
+        private boolean ends(String s) {
+            int length = s.length();
+            int offset = k - length + 1;
+            if (offset < 0) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (b[offset + i] != s.charAt(i)) {
+                    return false;
+                }
+            }
+            j = k - length;
+            return true;
+        }
+
+        // replace b[j+1..k] with s; s is never longer than the suffix it replaces, except in step 1b
+        private void setTo(String s) {
+            int length = s.length();
+            int offset = j + 1;
+            for (int i = 0; i < length; i++) {
+                b[offset + i] = s.charAt(i);
+            }
+            k = j + length;
+        }
+
+        private void r(String s) {
+            if (m() > 0) {
+                setTo(s);
+            }
+        }
+
+        private void step1ab() {
+            if (b[k] == 's') {
+                if (ends("sses")) {
+                    k -= 2;
+                } else if (ends("ies")) {
+                    setTo("i");
+                } else if (b[k - 1] != 's') {
+                    k--;
+                }
+            }
+            if (ends("eed")) {
+                if (m() > 0) {
+                    k--;
+                }
+            } else if ((ends("ed") || ends("ing")) && vowelInStem()) {
+                k = j;
+                if (ends("at")) {
+                    setTo("ate");
+                } else if (ends("bl")) {
+                    setTo("ble");
+                } else if (ends("iz")) {
+                    setTo("ize");
+                } else if (doubleC(k)) {
+                    char c = b[k];
+                    if (c != 'l' && c != 's' && c != 'z') {
+                        k--;
+                    }
+                } else if (m() == 1 && cvc(k)) {
+                    setTo("e");
+                }
+            }
+        }
+
+        private void step1c() {
+            if (ends("y") && vowelInStem()) {
+                b[k] = 'i';
+            }
+        }
+
+        private void step2() {
+            switch (b[k - 1]) {
+                case 'a':
+                    if (ends("ational")) { r("ate"); break; }
+                    if (ends("tional")) { r("tion"); break; }
+                    break;
+                case 'c':
+                    if (ends("enci")) { r("ence"); break; }
+                    if (ends("anci")) { r("ance"); break; }
+                    break;
+                case 'e':
+                    if (ends("izer")) { r("ize"); break; }
+                    break;
+                case 'l':
+                    if (ends("bli")) { r("ble"); break; }
+                    if (ends("alli")) { r("al"); break; }
+                    if (ends("entli")) { r("ent"); break; }
+                    if (ends("eli")) { r("e"); break; }
+                    if (ends("ousli")) { r("ous"); break; }
+                    break;
+                case 'o':
+                    if (ends("ization")) { r("ize"); break; }
+                    if (ends("ation")) { r("ate"); break; }
+                    if (ends("ator")) { r("ate"); break; }
+                    break;
+                case 's':
+                    if (ends("alism")) { r("al"); break; }
+                    if (ends("iveness")) { r("ive"); break; }
+                    if (ends("fulness")) { r("ful"); break; }
+                    if (ends("ousness")) { r("ous"); break; }
+                    break;
+                case 't':
+                    if (ends("aliti")) { r("al"); break; }
+                    if (ends("iviti")) { r("ive"); break; }
+                    if (ends("biliti")) { r("ble"); break; }
+                    break;
+                case 'g':
+                    if (ends("logi")) { r("log"); break; }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void step3() {
+            switch (b[k]) {
+                case 'e':
+                    if (ends("icate")) { r("ic"); break; }
+                    if (ends("ative")) { r(""); break; }
+                    if (ends("alize")) { r("al"); break; }
+                    break;
+                case 'i':
+                    if (ends("iciti")) { r("ic"); break; }
+                    break;
+                case 'l':
+                    if (ends("ical")) { r("ic"); break; }
+                    if (ends("ful")) { r(""); break; }
+                    break;
+                case 's':
+                    if (ends("ness")) { r(""); break; }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void step4() {
+            if (k < 1) {
+                return;
+            }
+            switch (b[k - 1]) {
+                case 'a':
+                    if (ends("al")) break;
+                    return;
+                case 'c':
+                    if (ends("ance")) break;
+                    if (ends("ence")) break;
+                    return;
+                case 'e':
+                    if (ends("er")) break;
+                    return;
+                case 'i':
+                    if (ends("ic")) break;
+                    return;
+                case 'l':
+                    if (ends("able")) break;
+                    if (ends("ible")) break;
+                    return;
+                case 'n':
+                    if (ends("ant")) break;
+                    if (ends("ement")) break;
+                    if (ends("ment")) break;
+                    if (ends("ent")) break;
+                    return;
+                case 'o':
+                    if (ends("ion") && j >= 0 && (b[j] == 's' || b[j] == 't')) break;
+                    if (ends("ou")) break;
+                    return;
+                case 's':
+                    if (ends("ism")) break;
+                    return;
+                case 't':
+                    if (ends("ate")) break;
+                    if (ends("iti")) break;
+                    return;
+                case 'u':
+                    if (ends("ous")) break;
+                    return;
+                case 'v':
+                    if (ends("ive")) break;
+                    return;
+                case 'z':
+                    if (ends("ize")) break;
+                    return;
+                default:
+                    return;
+            }
+            if (m() > 1) {
+                k = j;
+            }
+        }
+
+        private void step5() {
+            j = k;
+            if (b[k] == 'e') {
+                int a = m();
+                if (a > 1 || a == 1 && !cvc(k - 1)) {
+                    k--;
+                }
+            }
+            if (b[k] == 'l' && doubleC(k) && m() > 1) {
+                k--;
+            }
+        }
+    }
+}
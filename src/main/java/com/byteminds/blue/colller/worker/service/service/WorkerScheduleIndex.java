@@ -0,0 +1,248 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Repository.BookingRepository;
+import com.byteminds.blue.colller.worker.service.Repository.BookingSlotView;
+import com.byteminds.blue.colller.worker.service.Response.FreeSlotResponse;
+import com.byteminds.blue.colller.worker.service.models.BookingStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory per-worker index of the time slots taken by {@code CONFIRMED} and
+ * {@code IN_PROGRESS} bookings.
+ *
+ * Each worker's slots are kept sorted by start time. A worker's slots never overlap, so
+ * only the last slot starting before {@code start} can reach into [start, end), and any
+ * slot starting inside it overlaps: an overlap check is two O(log n) seeks.
+ * Reservations are atomic per worker and, inside a transaction, are undone if it rolls back.
+ */
+@Component
+public class WorkerScheduleIndex {
+
+    public static final Set<BookingStatus> BLOCKING_STATUSES = EnumSet.of(BookingStatus.CONFIRMED, BookingStatus.IN_PROGRESS);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final Duration defaultDuration;
+
+    // worker id -> schedule
+    private final Map<Long, Schedule> schedules = new ConcurrentHashMap<>();
+    // booking id -> slot, so a release only needs the booking id
+    private final Map<Long, Slot> slotsByBooking = new ConcurrentHashMap<>();
+
+    public WorkerScheduleIndex(@Value("${app.bookings.schedule.default-duration-hours:1}") double defaultDurationHours) {
+        if (defaultDurationHours <= 0) {
+            throw new IllegalArgumentException("Default booking duration must be positive");
+        }
+        this.defaultDuration = toDuration(defaultDurationHours);
+    }
+
+    /**
+     * Load the slots of every confirmed or in-progress booking once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        schedules.clear();
+        slotsByBooking.clear();
+        for (BookingSlotView view : bookingRepository.findSlotsByStatusIn(BLOCKING_STATUSES)) {
+            // existing rows are loaded as-is, even if they already overlap
+            Slot slot = new Slot(view.getId(), view.getWorkerId(), view.getScheduledDate(),
+                    view.getScheduledDate().plus(durationOf(view.getEstimatedDurationHours())));
+            Schedule schedule = schedules.computeIfAbsent(slot.workerId, id -> new Schedule());
+            synchronized (schedule) {
+                schedule.add(slot);
+            }
+            slotsByBooking.put(slot.bookingId, slot);
+        }
+    }
+
+    /**
+     * Length of a booking, falling back to the default when it has no estimate.
+     */
+    public Duration durationOf(Double estimatedDurationHours) {
+        return estimatedDurationHours == null || estimatedDurationHours <= 0
+                ? defaultDuration
+                : toDuration(estimatedDurationHours);
+    }
+
+    /**
+     * Whether the worker has no confirmed booking overlapping [start, end), ignoring {@code bookingId} itself.
+     */
+    public boolean isFree(Long workerId, LocalDateTime start, LocalDateTime end, Long bookingId) {
+        Schedule schedule = schedules.get(workerId);
+        if (schedule == null) {
+            return true;
+        }
+        synchronized (schedule) {
+            return schedule.firstOverlap(start, end, bookingId) == null;
+        }
+    }
+
+    /**
+     * Take [start, end) for the booking unless it overlaps another of the worker's bookings.
+     * Re-reserving a booking that already holds a slot is a no-op that returns true.
+     * Inside a transaction the reservation is dropped again if the transaction rolls back.
+     */
+    public boolean reserve(Long workerId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        Slot slot = new Slot(bookingId, workerId, start, end);
+        Schedule schedule = schedules.computeIfAbsent(workerId, id -> new Schedule());
+        synchronized (schedule) {
+            if (slotsByBooking.containsKey(bookingId)) {
+                return true;
+            }
+            if (schedule.firstOverlap(start, end, bookingId) != null) {
+                return false;
+            }
+            schedule.add(slot);
+            slotsByBooking.put(bookingId, slot);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        releaseNow(bookingId);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Free the booking's slot (no-op if it holds none). Inside a transaction this happens after commit.
+     */
+    public void release(Long bookingId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseNow(bookingId);
+                }
+            });
+        } else {
+            releaseNow(bookingId);
+        }
+    }
+
+    /**
+     * Free windows of the worker between {@code from} and {@code to} that are at least {@code minLength} long.
+     */
+    public List<FreeSlotResponse> findFreeWindows(Long workerId, LocalDateTime from, LocalDateTime to, Duration minLength) {
+        List<FreeSlotResponse> windows = new ArrayList<>();
+        LocalDateTime cursor = from;
+        Schedule schedule = schedules.get(workerId);
+        if (schedule != null) {
+            synchronized (schedule) {
+                for (Slot slot : schedule.candidates(from, to)) {
+                    if (!slot.end.isAfter(cursor)) {
+                        continue;
+                    }
+                    addWindow(windows, cursor, slot.start, minLength);
+                    cursor = slot.end;
+                    if (!cursor.isBefore(to)) {
+                        break;
+                    }
+                }
+            }
+        }
+        addWindow(windows, cursor, to, minLength);
+        return windows;
+    }
+
+    private static void addWindow(List<FreeSlotResponse> windows, LocalDateTime start, LocalDateTime end, Duration minLength) {
+        if (start.isBefore(end) && Duration.between(start, end).compareTo(minLength) >= 0) {
+            windows.add(new FreeSlotResponse(start, end));
+        }
+    }
+
+    private void releaseNow(Long bookingId) {
+        Slot slot = slotsByBooking.remove(bookingId);
+        if (slot == null) {
+            return;
+        }
+        Schedule schedule = schedules.get(slot.workerId);
+        if (schedule != null) {
+            synchronized (schedule) {
+                schedule.remove(slot);
+            }
+        }
+    }
+
+    private static Duration toDuration(double hours) {
+        return Duration.ofMinutes(Math.round(hours * 60));
+    }
+
+    // One worker's slots; callers synchronize on the instance
+    private static final class Schedule {
+        private final NavigableSet<Slot> slots = new TreeSet<>(
+                Comparator.comparing((Slot s) -> s.start).thenComparing(s -> s.bookingId));
+
+        void add(Slot slot) {
+            slots.add(slot);
+        }
+
+        void remove(Slot slot) {
+            slots.remove(slot);
+        }
+
+        // Slots that can reach into [from, to), in start order: the last one starting before from plus those starting inside
+        NavigableSet<Slot> candidates(LocalDateTime from, LocalDateTime to) {
+            Slot before = slots.lower(key(from));
+            return slots.subSet(before != null ? before : key(from), true, key(to), false);
+        }
+
+        // Rows loaded by rebuild() that already overlapped are the one exception to "slots never overlap";
+        // a slot hidden behind such a pair can be missed here
+        Slot firstOverlap(LocalDateTime start, LocalDateTime end, Long ignoreBookingId) {
+            Slot before = slots.lower(key(start));
+            if (before != null && before.end.isAfter(start) && !before.bookingId.equals(ignoreBookingId)) {
+                return before;
+            }
+            // Every slot starting inside [start, end) overlaps it; at most the ignored one is skipped
+            for (Slot slot : slots.subSet(key(start), true, key(end), false)) {
+                if (!slot.bookingId.equals(ignoreBookingId)) {
+                    return slot;
+                }
+            }
+            return null;
+        }
+
+        // Sorts before every slot starting at the same time
+        private static Slot key(LocalDateTime start) {
+            return new Slot(Long.MIN_VALUE, null, start, null);
+        }
+    }
+
+    private static final class Slot {
+        final Long bookingId;
+        final Long workerId;
+        final LocalDateTime start;
+        final LocalDateTime end;
+
+        Slot(Long bookingId, Long workerId, LocalDateTime start, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.workerId = workerId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.byteminds.blue.colller.worker.service.Config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes through {@link ReadWriteRoutingDataSource} with two embedded H2 databases standing in
+ * for the primary and a replica. They don't replicate, so every read shows where it went.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+
+    @BeforeEach
+    void createDatabases() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void shutdown() {
+        SecurityContextHolder.clearContext();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndEverythingElseToThePrimary() {
+        ReadWriteRoutingDataSource routing = routing(Map.of("replica-1", replica), 5000);
+
+        assertEquals("replica", readNode(routing, true));
+        assertEquals("primary", readNode(routing, false));
+        assertEquals("primary", new JdbcTemplate(new LazyConnectionDataSourceProxy(routing))
+                .queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void aUsersReadsStayOnThePrimaryAfterTheirOwnWrite() {
+        ReadWriteRoutingDataSource routing = routing(Map.of("replica-1", replica), 60_000);
+
+        signIn("customer@example.com");
+        readNode(routing, false);
+        assertEquals("primary", readNode(routing, true));
+
+        signIn("worker@example.com");
+        assertEquals("replica", readNode(routing, true));
+    }
+
+    @Test
+    void readsSkipAFailedReplicaAndFallBackToThePrimaryWhenNoneIsLeft() {
+        DataSource unreachable = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable");
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", unreachable);
+        replicas.put("replica-2", replica);
+        ReadWriteRoutingDataSource routing = routing(replicas, 5000);
+
+        // The unreachable replica is dropped on its first failed connection, whichever comes first
+        assertEquals("replica", readNode(routing, true));
+        assertEquals("replica", readNode(routing, true));
+
+        ReadWriteRoutingDataSource allDown = routing(Map.of("replica-1", unreachable), 5000);
+        allDown.checkReplicas();
+        assertEquals("primary", readNode(allDown, true));
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return database;
+    }
+
+    private ReadWriteRoutingDataSource routing(Map<String, DataSource> replicas, long readYourWritesMillis) {
+        return new ReadWriteRoutingDataSource(primary, replicas, readYourWritesMillis, new SimpleMeterRegistry());
+    }
+
+    // Name of the database a transaction with this read-only flag read from
+    private static String readNode(ReadWriteRoutingDataSource routing, boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+}
@@ -0,0 +1,145 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Config.ExecutorConfig;
+import com.byteminds.blue.colller.worker.service.Response.BookingPageResponse;
+import com.byteminds.blue.colller.worker.service.Response.BookingResponse;
+import com.byteminds.blue.colller.worker.service.models.Booking;
+import com.byteminds.blue.colller.worker.service.models.Role;
+import com.byteminds.blue.colller.worker.service.models.Users;
+import com.byteminds.blue.colller.worker.service.models.Work;
+import com.byteminds.blue.colller.worker.service.request.BookingSortField;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Booking listings must issue the same number of SQL statements no matter how many
+ * bookings they return (no lazy customer/worker/work loads per row).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({BookingService.class, BookingViewProjector.class, WorkerScheduleIndex.class, BookingMetrics.class,
+        BookingEventStream.class, BookingOutbox.class, BookingHistoryRecorder.class, CollectionVersions.class,
+        JsonStreamWriter.class, ExecutorConfig.class, SimpleMeterRegistry.class, JacksonAutoConfiguration.class})
+class BookingServiceQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingViewProjector bookingViewProjector;
+
+    private Users customer;
+    private Users worker;
+    private Work work;
+
+    @BeforeEach
+    void setUp() {
+        customer = persistUser("customer@example.com", Role.CUSTOMER);
+        worker = persistUser("worker@example.com", Role.WORKER);
+
+        work = new Work();
+        work.setTitle("Fix leaking tap");
+        work.setCategory("Plumbing");
+        work.setCharges(500.0);
+        work.setEstimatedTimeHours(2.0);
+        work.setWorker(worker);
+        entityManager.persist(work);
+    }
+
+    @Test
+    void allBookingsUseConstantStatements() {
+        assertConstantStatements(() -> bookingService.getAllBookings());
+    }
+
+    @Test
+    void customerBookingsUseConstantStatements() {
+        assertConstantStatements(() -> bookingService.getBookingsByCustomerId(customer.getId()));
+    }
+
+    @Test
+    void workerBookingsUseConstantStatements() {
+        assertConstantStatements(() -> bookingService.getBookingsByWorkerId(worker.getId()));
+    }
+
+    @Test
+    void pendingBookingsUseConstantStatements() {
+        assertConstantStatements(() -> bookingService.getPendingBookingsForWorker(worker.getId()));
+    }
+
+    @Test
+    void bookingPageUsesConstantStatements() {
+        assertConstantStatements(() -> {
+            BookingPageResponse page = bookingService.getBookingsPageByWorkerId(
+                    worker.getId(), BookingSortField.CREATED_AT, Sort.Direction.DESC, null, 100);
+            return page.getContent();
+        });
+    }
+
+    private void assertConstantStatements(Supplier<List<BookingResponse>> listing) {
+        addBookings(2);
+        long fewRows = countStatements(listing, 2);
+
+        addBookings(48);
+        long manyRows = countStatements(listing, 50);
+
+        assertEquals(fewRows, manyRows, "statement count grew with the number of bookings");
+    }
+
+    private long countStatements(Supplier<List<BookingResponse>> listing, int expectedRows) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingResponse> result = listing.get();
+
+        assertEquals(expectedRows, result.size());
+        result.forEach(response -> assertEquals("customer", response.getCustomerName()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addBookings(int count) {
+        Users customerRef = entityManager.find(Users.class, customer.getId());
+        Users workerRef = entityManager.find(Users.class, worker.getId());
+        Work workRef = entityManager.find(Work.class, work.getId());
+        for (int i = 0; i < count; i++) {
+            Booking booking = new Booking(customerRef, workerRef, workRef, "Booking " + i,
+                    LocalDateTime.now().plusDays(i + 1), "221B Baker Street");
+            entityManager.persist(booking);
+        }
+        entityManager.flush();
+        bookingViewProjector.rebuild();
+    }
+
+    private Users persistUser(String email, Role role) {
+        Users user = new Users();
+        user.setEmail(email);
+        user.setName(role == Role.CUSTOMER ? "customer" : "worker");
+        user.setRole(role);
+        return entityManager.persist(user);
+    }
+}
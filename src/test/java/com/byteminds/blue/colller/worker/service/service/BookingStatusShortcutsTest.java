@@ -0,0 +1,114 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Config.ExecutorConfig;
+import com.byteminds.blue.colller.worker.service.Repository.BookingRepository;
+import com.byteminds.blue.colller.worker.service.Repository.BookingViewRepository;
+import com.byteminds.blue.colller.worker.service.Repository.UsersRepository;
+import com.byteminds.blue.colller.worker.service.Repository.WorkRepository;
+import com.byteminds.blue.colller.worker.service.Response.BookingResponse;
+import com.byteminds.blue.colller.worker.service.models.BookingStatus;
+import com.byteminds.blue.colller.worker.service.models.Role;
+import com.byteminds.blue.colller.worker.service.models.Users;
+import com.byteminds.blue.colller.worker.service.models.Work;
+import com.byteminds.blue.colller.worker.service.request.BookingRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The accept/reject/start/complete/cancel shortcuts, called the way the controller calls them:
+ * outside any transaction. Each change must land in both bookings and booking_view.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({BookingService.class, BookingViewProjector.class, WorkerScheduleIndex.class, BookingMetrics.class,
+        BookingEventStream.class, BookingOutbox.class, BookingHistoryRecorder.class, CollectionVersions.class,
+        JsonStreamWriter.class, ExecutorConfig.class, SimpleMeterRegistry.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingStatusShortcutsTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingViewRepository bookingViewRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private WorkRepository workRepository;
+
+    private Users worker;
+    private Work work;
+    private UserIdentity customerIdentity;
+    private UserIdentity workerIdentity;
+    private LocalDateTime nextStart = LocalDateTime.now().plusDays(1).withNano(0);
+
+    @BeforeEach
+    void setUp() {
+        bookingViewRepository.deleteAll();
+        bookingRepository.deleteAll();
+        workRepository.deleteAll();
+        usersRepository.deleteAll();
+
+        customerIdentity = UserIdentity.of(saveUser("customer@example.com", Role.CUSTOMER));
+        worker = saveUser("worker@example.com", Role.WORKER);
+        workerIdentity = UserIdentity.of(worker);
+        work = new Work();
+        work.setTitle("Fix leaking tap");
+        work.setCategory("Plumbing");
+        work.setCharges(500.0);
+        work.setEstimatedTimeHours(1.0);
+        work.setWorker(worker);
+        work = workRepository.save(work);
+    }
+
+    @Test
+    void acceptStartAndCompleteUpdateBookingAndView() throws Exception {
+        Long id = createBooking();
+
+        assertStatus(bookingService.acceptBooking(id, workerIdentity), BookingStatus.CONFIRMED);
+        assertStatus(bookingService.startWork(id, workerIdentity), BookingStatus.IN_PROGRESS);
+        assertStatus(bookingService.completeWork(id, workerIdentity), BookingStatus.COMPLETED);
+    }
+
+    @Test
+    void rejectAndCancelUpdateBookingAndView() throws Exception {
+        assertStatus(bookingService.rejectBooking(createBooking(), workerIdentity), BookingStatus.REJECTED);
+        assertStatus(bookingService.cancelBooking(createBooking(), customerIdentity), BookingStatus.CANCELLED);
+    }
+
+    private void assertStatus(BookingResponse response, BookingStatus expected) {
+        assertEquals(expected, response.getStatus());
+        assertEquals(expected, bookingRepository.findById(response.getId()).orElseThrow().getStatus());
+        assertEquals(expected, bookingViewRepository.findById(response.getId()).orElseThrow().getStatus());
+    }
+
+    private Long createBooking() throws Exception {
+        BookingRequest request = new BookingRequest(work.getId(), worker.getId(), "Booking",
+                nextStart, "221B Baker Street");
+        nextStart = nextStart.plusHours(2);
+        return bookingService.createBooking(request, customerIdentity).getId();
+    }
+
+    private Users saveUser(String email, Role role) {
+        Users user = new Users();
+        user.setEmail(email);
+        user.setName(role == Role.CUSTOMER ? "customer" : "worker");
+        user.setRole(role);
+        return usersRepository.save(user);
+    }
+}
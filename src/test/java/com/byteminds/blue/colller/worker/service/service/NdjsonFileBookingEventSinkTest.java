@@ -0,0 +1,69 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.models.BookingEvent;
+import com.byteminds.blue.colller.worker.service.models.BookingEventType;
+import com.byteminds.blue.colller.worker.service.models.BookingStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The NDJSON sink is for development and tests: off unless enabled, and when enabled it
+ * appends one JSON object per delivered event.
+ */
+class NdjsonFileBookingEventSinkTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class))
+            .withUserConfiguration(NdjsonFileBookingEventSink.class);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void offByDefault() {
+        contextRunner.run(context -> assertTrue(context.getBeansOfType(NdjsonFileBookingEventSink.class).isEmpty()));
+    }
+
+    @Test
+    void appendsOneLinePerEventWhenEnabled() {
+        Path file = dir.resolve("events/booking-events.ndjson");
+        contextRunner
+                .withPropertyValues("app.bookings.outbox.ndjson.enabled=true",
+                        "app.bookings.outbox.ndjson.path=" + file)
+                .run(context -> {
+                    NdjsonFileBookingEventSink sink = context.getBean(NdjsonFileBookingEventSink.class);
+                    sink.deliver(List.of(event(1L, 0L, BookingEventType.CREATED, null, BookingStatus.PENDING)));
+                    sink.deliver(List.of(event(2L, 1L, BookingEventType.STATUS_CHANGED, BookingStatus.PENDING,
+                            BookingStatus.CONFIRMED)));
+
+                    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+                    assertEquals(2, lines.size());
+                    JsonNode changed = context.getBean(ObjectMapper.class).readTree(lines.get(1));
+                    assertEquals(2L, changed.path("id").asLong());
+                    assertEquals("STATUS_CHANGED", changed.path("type").asText());
+                    assertEquals("PENDING", changed.path("from").asText());
+                    assertEquals("CONFIRMED", changed.path("to").asText());
+                    assertEquals(7L, changed.path("booking").path("id").asLong());
+                });
+    }
+
+    private static BookingEvent event(Long id, Long version, BookingEventType type, BookingStatus from, BookingStatus to) {
+        BookingEvent event = new BookingEvent(7L, version, type, from, to, "{\"id\":7}", LocalDateTime.now());
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,95 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Repository.UsersRepository;
+import com.byteminds.blue.colller.worker.service.Repository.WorkRepository;
+import com.byteminds.blue.colller.worker.service.models.Role;
+import com.byteminds.blue.colller.worker.service.models.Users;
+import com.byteminds.blue.colller.worker.service.models.Work;
+import com.byteminds.blue.colller.worker.service.request.StreamFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The streamed user and work listings are readable by any (logged-in) caller, so no row may
+ * carry a password hash, not even the worker nested in a work post.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({JsonStreamWriter.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StreamedListingsTest {
+
+    private static final String PASSWORD_HASH = "$2a$10$abcdefghijklmnopqrstuv";
+
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private WorkRepository workRepository;
+
+    @BeforeEach
+    void setUp() {
+        workRepository.deleteAll();
+        usersRepository.deleteAll();
+
+        Users worker = new Users();
+        worker.setEmail("worker@example.com");
+        worker.setName("worker");
+        worker.setRole(Role.WORKER);
+        worker.setPasswordHash(PASSWORD_HASH);
+        worker = usersRepository.save(worker);
+        Work work = new Work();
+        work.setTitle("Fix leaking tap");
+        work.setCategory("Plumbing");
+        work.setCharges(500.0);
+        work.setWorker(worker);
+        workRepository.save(work);
+    }
+
+    @Test
+    void streamedWorksLeaveOutTheWorkersPasswordHash() throws IOException {
+        for (StreamFormat format : StreamFormat.values()) {
+            String body = stream(format, workRepository::streamAll);
+            assertTrue(body.contains("\"title\":\"Fix leaking tap\""), body);
+            assertTrue(body.contains("\"email\":\"worker@example.com\""), body);
+            assertNoPasswordHash(body);
+        }
+    }
+
+    @Test
+    void streamedUsersLeaveOutThePasswordHash() throws IOException {
+        for (StreamFormat format : StreamFormat.values()) {
+            String body = stream(format, usersRepository::streamAll);
+            assertTrue(body.contains("\"email\":\"worker@example.com\""), body);
+            assertNoPasswordHash(body);
+        }
+    }
+
+    private <T> String stream(StreamFormat format, Supplier<Stream<T>> query) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        jsonStreamWriter.write(format, query).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void assertNoPasswordHash(String body) {
+        assertFalse(body.contains("passwordHash"), body);
+        assertFalse(body.contains(PASSWORD_HASH), body);
+    }
+}
@@ -0,0 +1,149 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Config.ExecutorConfig;
+import com.byteminds.blue.colller.worker.service.Repository.UsersRepository;
+import com.byteminds.blue.colller.worker.service.Repository.WorkRepository;
+import com.byteminds.blue.colller.worker.service.Response.BookingResponse;
+import com.byteminds.blue.colller.worker.service.models.BookingStatus;
+import com.byteminds.blue.colller.worker.service.models.Role;
+import com.byteminds.blue.colller.worker.service.models.Users;
+import com.byteminds.blue.colller.worker.service.models.Work;
+import com.byteminds.blue.colller.worker.service.request.BookingRequest;
+import com.byteminds.blue.colller.worker.service.request.BookingSortField;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the booking flows concurrently on virtual threads and fails if application code
+ * blocks while its virtual thread is pinned to the carrier.
+ *
+ * Pins are captured through JFR {@code jdk.VirtualThreadPinned}, which works on every
+ * JDK; {@code mvn test -Ppinning-diagnostics} additionally runs it with
+ * {@code -Djdk.tracePinnedThreads=full}, which prints pinned stacks on JDK 21-23.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({BookingService.class, BookingViewProjector.class, WorkerScheduleIndex.class, BookingMetrics.class,
+        BookingEventStream.class, BookingOutbox.class, BookingHistoryRecorder.class, CollectionVersions.class,
+        JsonStreamWriter.class, ExecutorConfig.class, SimpleMeterRegistry.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VirtualThreadPinningTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int FLOWS = 50;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private WorkRepository workRepository;
+
+    @Test
+    void bookingFlowsDoNotBlockWhilePinned() throws Exception {
+        Users customer = saveUser("customer@example.com", Role.CUSTOMER);
+        Users worker = saveUser("worker@example.com", Role.WORKER);
+        Work work = new Work();
+        work.setTitle("Fix leaking tap");
+        work.setCategory("Plumbing");
+        work.setCharges(500.0);
+        work.setEstimatedTimeHours(1.0);
+        work.setWorker(worker);
+        work = workRepository.save(work);
+        UserIdentity customerIdentity = UserIdentity.of(customer);
+        UserIdentity workerIdentity = UserIdentity.of(worker);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        List<RecordedEvent> pins = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent(PINNED_EVENT, pins::add);
+            recording.startAsync();
+
+            List<Long> ids = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Long>> flows = new ArrayList<>();
+                for (int i = 0; i < FLOWS; i++) {
+                    BookingRequest request = new BookingRequest(work.getId(), worker.getId(), "Booking " + i,
+                            start.plusHours(2L * i), "221B Baker Street");
+                    flows.add(executor.submit(() -> {
+                        BookingResponse created = bookingService.createBooking(request, customerIdentity);
+                        bookingService.acceptBooking(created.getId(), workerIdentity);
+                        bookingService.getBookingById(created.getId());
+                        bookingService.getBookingsPageByWorkerId(worker.getId(), BookingSortField.CREATED_AT,
+                                Sort.Direction.DESC, null, 20);
+                        return created.getId();
+                    }));
+                }
+                for (Future<Long> flow : flows) {
+                    ids.add(flow.get());
+                }
+                List<Long> cancelled = executor.submit(() -> bookingService
+                        .updateBookingStatuses(ids, BookingStatus.CANCELLED, customerIdentity).getTransitioned()).get();
+                assertEquals(FLOWS, cancelled.size());
+            }
+            // stop() flushes, so every event recorded so far has been delivered
+            recording.stop();
+        }
+
+        List<String> appPins = pins.stream()
+                .filter(VirtualThreadPinningTest::blockedInApplicationCode)
+                .map(VirtualThreadPinningTest::describe)
+                .collect(Collectors.toList());
+        assertTrue(appPins.isEmpty(), "virtual threads blocked while pinned in application code:\n" + appPins);
+    }
+
+    // The first frame below the JDK's own parking code is the call that blocked
+    private static boolean blockedInApplicationCode(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return false;
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type.startsWith("com.byteminds.");
+            }
+        }
+        return false;
+    }
+
+    private static String describe(RecordedEvent event) {
+        return event.getStackTrace().getFrames().stream()
+                .limit(12)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n  at ", "pinned " + event.getDuration().toMillis() + " ms\n  at ", "\n"));
+    }
+
+    private Users saveUser(String email, Role role) {
+        Users user = new Users();
+        user.setEmail(email);
+        user.setName(role == Role.CUSTOMER ? "customer" : "worker");
+        user.setRole(role);
+        return usersRepository.save(user);
+    }
+}
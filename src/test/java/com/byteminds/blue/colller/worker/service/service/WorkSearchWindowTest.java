@@ -0,0 +1,44 @@
+package com.byteminds.blue.colller.worker.service.service;
+
+import com.byteminds.blue.colller.worker.service.Controller.WorkController;
+import com.byteminds.blue.colller.worker.service.models.Work;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * A page far past the search window must be rejected up front: (page + 1) * size would
+ * otherwise overflow int and slip past the window check.
+ */
+class WorkSearchWindowTest {
+
+    @Test
+    void controllerRejectsHugePage() {
+        WorkService workService = mock(WorkService.class);
+        WorkController controller = new WorkController(workService);
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.searchWorks("tap", null, null, null, null, null, null,
+                Integer.MAX_VALUE, 1).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.searchWorks("tap", null, null, null, null, null, null,
+                Integer.MAX_VALUE / 2, 4).getStatusCode());
+        verifyNoInteractions(workService);
+    }
+
+    @Test
+    void indexRejectsHugePage() {
+        WorkSearchIndex index = new WorkSearchIndex();
+        Work work = new Work();
+        work.setId(1L);
+        work.setTitle("Fix leaking tap");
+        work.setCategory("Plumbing");
+        index.put(work);
+
+        assertEquals(1, index.search("tap", null, null, null, null, null, null, 0, 20).getContent().size());
+        assertThrows(IllegalArgumentException.class,
+                () -> index.search("tap", null, null, null, null, null, null, Integer.MAX_VALUE, 1));
+    }
+}